@@ -0,0 +1,11 @@
+package com.example.expensetrackerspring.core;
+
+public enum SummaryBucket {
+    WEEK,
+    MONTH,
+    YEAR;
+
+    public static SummaryBucket fromString(String bucket) {
+        return SummaryBucket.valueOf(bucket.toUpperCase());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.expensetrackerspring.core.exceptions;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
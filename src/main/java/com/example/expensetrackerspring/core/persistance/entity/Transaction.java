@@ -23,7 +23,8 @@ import java.time.LocalDate;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     @NotNull(message = "Transaction name cannot be null")
     @Size(min = 3, max = 100, message = "Transaction name must be between 3 and 100 characters")
@@ -35,6 +36,9 @@ public class Transaction {
     @NotNull(message = "Category cannot be null")
     private String category;
 
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
     @NotNull(message = "Amount cannot be null")
     @DecimalMin(value = "0.01", inclusive = true, message = "Amount must be greater than zero")
     private BigDecimal amount;
@@ -54,6 +58,12 @@ public class Transaction {
     @NotNull(message = "Transaction type cannot be null")
     private TransactionType transactionType;
 
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
+
+    @Column(name = "rule_based", nullable = false)
+    private boolean ruleBased;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     @NotNull(message = "User cannot be null")
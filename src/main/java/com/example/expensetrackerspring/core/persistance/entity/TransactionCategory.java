@@ -0,0 +1,22 @@
+package com.example.expensetrackerspring.core.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "transaction_categories",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transaction_categories_name", columnNames = "name"))
+public class TransactionCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+}
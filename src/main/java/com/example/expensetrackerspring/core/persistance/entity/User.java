@@ -21,7 +21,7 @@ import java.util.Collections;
 @Data
 @Builder
 @AllArgsConstructor
-@Table(name="users")
+@Table(name="users", uniqueConstraints = @UniqueConstraint(name = "uk_users_username", columnNames = "username"))
 
 public class User implements UserDetails {
     @Id
@@ -46,6 +46,9 @@ public class User implements UserDetails {
     @DecimalMin(value = "0.0", inclusive = true, message = "Balance must be a positive value")
     private BigDecimal balance;
 
+    @Column(name = "ledger_version", nullable = false, insertable = false, updatable = false)
+    private long ledgerVersion;
+
     public User() {
     }
 
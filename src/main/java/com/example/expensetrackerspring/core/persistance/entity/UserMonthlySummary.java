@@ -15,14 +15,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "user_monthly_summary")
+@Table(name = "user_monthly_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_monthly_summary_user_date", columnNames = {"user_id", "date"}))
 public class UserMonthlySummary {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
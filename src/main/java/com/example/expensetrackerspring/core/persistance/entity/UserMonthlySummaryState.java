@@ -0,0 +1,58 @@
+package com.example.expensetrackerspring.core.persistance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "user_monthly_summary_state",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_monthly_summary_state_user_month",
+                columnNames = {"user_id", "month_start"}))
+public class UserMonthlySummaryState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private long dataVersion;
+
+    @Column(nullable = false)
+    private long computedVersion;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public UserMonthlySummaryState(User user, LocalDate monthStart) {
+        this.user = user;
+        this.monthStart = monthStart;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isStale() {
+        return computedVersion < dataVersion;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
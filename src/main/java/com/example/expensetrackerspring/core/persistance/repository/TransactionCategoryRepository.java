@@ -0,0 +1,20 @@
+package com.example.expensetrackerspring.core.persistance.repository;
+
+import com.example.expensetrackerspring.core.persistance.entity.TransactionCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface TransactionCategoryRepository extends JpaRepository<TransactionCategory, Integer> {
+
+    @Query("SELECT c.id FROM TransactionCategory c WHERE c.name = :name")
+    Optional<Integer> findIdByName(@Param("name") String name);
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_categories (name) VALUES (:name) ON CONFLICT (name) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+}
@@ -3,15 +3,27 @@ package com.example.expensetrackerspring.core.persistance.repository;
 import com.example.expensetrackerspring.core.TransactionType;
 import com.example.expensetrackerspring.core.persistance.entity.Transaction;
 import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
@@ -19,13 +31,97 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     Page<Transaction> findByUserIdAndTransactionType(Long userId, TransactionType transactionType, Pageable pageable);
 
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.startDate = :startDate")
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.startDate = :startDate AND t.ruleBased = false")
     List<Transaction> findByUserAndDate(User user, LocalDate startDate);
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.startDate BETWEEN :startDate AND :endDate")
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.startDate BETWEEN :startDate AND :endDate AND t.ruleBased = false")
     List<Transaction> findByUserAndDateBetween(
             @Param("user") User user,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT new com.example.expensetrackerspring.rest.payload.response.TransactionResponse(" +
+            "t.id, t.name, t.description, t.amount, t.category, t.startDate, t.endDate, t.transactionType) " +
+            "FROM Transaction t WHERE t.user.id = :userId AND t.startDate BETWEEN :startDate AND :endDate " +
+            "AND t.ruleBased = false ORDER BY t.startDate, t.id")
+    List<TransactionResponse> findResponsesByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                  @Param("startDate") LocalDate startDate,
+                                                                  @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse(" +
+            "c.name, t.transactionType, SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t JOIN TransactionCategory c ON c.id = t.categoryId " +
+            "WHERE t.user.id = :userId AND t.startDate BETWEEN :startDate AND :endDate AND t.ruleBased = false " +
+            "GROUP BY c.name, t.transactionType")
+    List<CategoryTotalResponse> findCategoryTotalsByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                         @Param("startDate") LocalDate startDate,
+                                                                         @Param("endDate") LocalDate endDate);
+
     List<Transaction> findByUserAndName(User user, String name);
+
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.ruleBased = true " +
+            "AND t.startDate <= :endDate AND (t.endDate IS NULL OR t.endDate >= :startDate)")
+    List<Transaction> findRulesOverlapping(@Param("user") User user,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.ruleBased = true " +
+            "AND t.startDate <= :endDate AND (t.endDate IS NULL OR t.endDate >= :startDate)")
+    List<Transaction> findRulesOverlappingByUserId(@Param("userId") Long userId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+            "AND (:type IS NULL OR t.transactionType = :type) " +
+            "AND (:categoryId IS NULL OR t.categoryId = :categoryId) " +
+            "ORDER BY t.startDate DESC, t.id DESC")
+    List<Transaction> findFirstPage(@Param("userId") Long userId,
+                                    @Param("type") TransactionType type,
+                                    @Param("categoryId") Integer categoryId,
+                                    Limit limit);
+
+    // The plain bound on startDate is what the index seeks on; the OR only trims the cursor's own day.
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
+            "AND (:type IS NULL OR t.transactionType = :type) " +
+            "AND (:categoryId IS NULL OR t.categoryId = :categoryId) " +
+            "AND t.startDate <= :startDate AND (t.startDate < :startDate OR t.id < :id) " +
+            "ORDER BY t.startDate DESC, t.id DESC")
+    List<Transaction> findPageAfter(@Param("userId") Long userId,
+                                    @Param("type") TransactionType type,
+                                    @Param("categoryId") Integer categoryId,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId ORDER BY t.startDate, t.id")
+    Stream<Transaction> streamByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT MIN(t.startDate) FROM Transaction t WHERE t.user = :user")
+    Optional<LocalDate> findFirstStartDate(@Param("user") User user);
+
+    @Query("SELECT t.startDate FROM Transaction t WHERE t.user.id = :userId AND t.seriesId = :seriesId")
+    List<LocalDate> findStartDatesBySeries(@Param("userId") Long userId, @Param("seriesId") String seriesId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.name = :name, t.description = :description, t.amount = :amount, " +
+            "t.category = :category, t.categoryId = :categoryId, t.endDate = :endDate, t.transactionType = :transactionType " +
+            "WHERE t.user.id = :userId AND t.seriesId = :seriesId")
+    int updateSeries(@Param("userId") Long userId,
+                     @Param("seriesId") String seriesId,
+                     @Param("name") String name,
+                     @Param("description") String description,
+                     @Param("amount") BigDecimal amount,
+                     @Param("category") String category,
+                     @Param("categoryId") Integer categoryId,
+                     @Param("endDate") LocalDate endDate,
+                     @Param("transactionType") TransactionType transactionType);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Transaction t WHERE t.user.id = :userId AND t.seriesId = :seriesId")
+    int deleteBySeries(@Param("userId") Long userId, @Param("seriesId") String seriesId);
 }
@@ -2,17 +2,23 @@ package com.example.expensetrackerspring.core.persistance.repository;
 
 import com.example.expensetrackerspring.core.persistance.entity.User;
 import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserMonthlySummaryRepository extends JpaRepository<UserMonthlySummary, Long> {
+public interface UserMonthlySummaryRepository extends JpaRepository<UserMonthlySummary, Long>,
+        UserMonthlySummaryRepositoryCustom {
 
     @Query("SELECT s FROM UserMonthlySummary s WHERE s.user = :user AND s.date = :startDate")
     Optional<UserMonthlySummary> findByUserAndDate(@Param("user") User user, @Param("startDate") LocalDate startDate);
@@ -20,5 +26,32 @@ public interface UserMonthlySummaryRepository extends JpaRepository<UserMonthlyS
     @Query("SELECT s FROM UserMonthlySummary s WHERE s.user = :user AND s.date BETWEEN :startDate AND :endDate")
     List<UserMonthlySummary> findByUserAndDateBetween(@Param("user") User user, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT new com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse(" +
+            "s.date, s.income, s.expenses, s.savings) FROM UserMonthlySummary s " +
+            "WHERE s.user.id = :userId AND s.date BETWEEN :startDate AND :endDate ORDER BY s.date")
+    List<DailySummaryResponse> findResponsesByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                   @Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse(" +
+            "s.date, s.income, s.expenses, s.savings) FROM UserMonthlySummary s " +
+            "WHERE s.user.id = :userId AND s.date = :date")
+    Optional<DailySummaryResponse> findResponseByUserIdAndDate(@Param("userId") Long userId,
+                                                               @Param("date") LocalDate date);
+
+    Optional<UserMonthlySummary> findFirstByUserAndDateLessThanEqualOrderByDateDesc(User user, LocalDate date);
+
+    @Query("SELECT s.savings FROM UserMonthlySummary s WHERE s.user = :user AND s.date = :date")
+    Optional<BigDecimal> findSavingsByUserAndDate(@Param("user") User user, @Param("date") LocalDate date);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserMonthlySummary s SET s.savings = s.savings + :delta, s.updatedAt = :updatedAt " +
+            "WHERE s.user = :user AND s.date > :date")
+    int shiftSavingsAfter(@Param("user") User user,
+                          @Param("date") LocalDate date,
+                          @Param("delta") BigDecimal delta,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
 }
 
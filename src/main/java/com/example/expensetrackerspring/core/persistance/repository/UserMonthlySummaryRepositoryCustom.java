@@ -0,0 +1,15 @@
+package com.example.expensetrackerspring.core.persistance.repository;
+
+import com.example.expensetrackerspring.core.SummaryBucket;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface UserMonthlySummaryRepositoryCustom {
+
+    int upsertDays(List<UserMonthlySummary> summaries);
+
+    List<SummaryRollupResponse> rollup(Long userId, LocalDate from, LocalDate to, SummaryBucket bucket);
+}
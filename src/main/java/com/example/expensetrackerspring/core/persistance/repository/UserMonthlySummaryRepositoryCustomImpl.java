@@ -0,0 +1,110 @@
+package com.example.expensetrackerspring.core.persistance.repository;
+
+import com.example.expensetrackerspring.core.SummaryBucket;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class UserMonthlySummaryRepositoryCustomImpl implements UserMonthlySummaryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    @Override
+    public int upsertDays(List<UserMonthlySummary> summaries) {
+        if (summaries.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO user_monthly_summary (user_id, date, income, expenses, savings, created_at, updated_at) VALUES ");
+        for (int i = 0; i < summaries.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:user").append(i)
+                    .append(", :date").append(i)
+                    .append(", :income").append(i)
+                    .append(", :expenses").append(i)
+                    .append(", :savings").append(i)
+                    .append(", :now, :now)");
+        }
+        sql.append(" ON CONFLICT (user_id, date) DO UPDATE SET "
+                + "income = EXCLUDED.income, expenses = EXCLUDED.expenses, "
+                + "savings = EXCLUDED.savings, updated_at = EXCLUDED.updated_at");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < summaries.size(); i++) {
+            UserMonthlySummary summary = summaries.get(i);
+            query.setParameter("user" + i, summary.getUser().getId());
+            query.setParameter("date" + i, summary.getDate());
+            query.setParameter("income" + i, summary.getIncome());
+            query.setParameter("expenses" + i, summary.getExpenses());
+            query.setParameter("savings" + i, summary.getSavings());
+        }
+        query.setParameter("now", LocalDateTime.now());
+
+        // The statement bypasses the persistence context, so pending changes go out first and any
+        // summary rows loaded earlier are dropped instead of being served stale afterwards. The rest of
+        // the caller's persistence context, such as the month's state and the user, stays managed.
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        detachSummaries();
+        return updated;
+    }
+
+    private void detachSummaries() {
+        Map.Entry<Object, EntityEntry>[] entries = entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal()
+                .reentrantSafeEntityEntries();
+        for (Map.Entry<Object, EntityEntry> entry : entries) {
+            if (entry.getKey() instanceof UserMonthlySummary) {
+                entityManager.detach(entry.getKey());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<SummaryRollupResponse> rollup(Long userId, LocalDate from, LocalDate to, SummaryBucket bucket) {
+        // Savings are a running balance, so a bucket closes on the savings of its last day rather than a sum.
+        Query query = entityManager.createNativeQuery(
+                "SELECT CAST(date_trunc(:unit, s.date) AS date) AS period_start, MAX(s.date) AS period_end, "
+                        + "SUM(s.income) AS income, SUM(s.expenses) AS expenses, "
+                        + "(array_agg(s.savings ORDER BY s.date DESC))[1] AS closing_savings "
+                        + "FROM user_monthly_summary s "
+                        + "WHERE s.user_id = :userId AND s.date BETWEEN :from AND :to "
+                        + "GROUP BY 1 ORDER BY 1");
+        query.setParameter("unit", bucket.name().toLowerCase());
+        query.setParameter("userId", userId);
+        query.setParameter("from", from);
+        query.setParameter("to", to);
+        query.unwrap(NativeQuery.class)
+                .addScalar("period_start", LocalDate.class)
+                .addScalar("period_end", LocalDate.class)
+                .addScalar("income", BigDecimal.class)
+                .addScalar("expenses", BigDecimal.class)
+                .addScalar("closing_savings", BigDecimal.class);
+
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(row -> new SummaryRollupResponse(
+                        // The first bucket may begin before the requested range.
+                        from.isAfter((LocalDate) row[0]) ? from : (LocalDate) row[0],
+                        (LocalDate) row[1],
+                        (BigDecimal) row[2],
+                        (BigDecimal) row[3],
+                        (BigDecimal) row[4]))
+                .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.expensetrackerspring.core.persistance.repository;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummaryState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserMonthlySummaryStateRepository extends JpaRepository<UserMonthlySummaryState, Long> {
+
+    @Query("SELECT s FROM UserMonthlySummaryState s WHERE s.user = :user AND s.monthStart = :monthStart")
+    Optional<UserMonthlySummaryState> findByUserAndMonthStart(@Param("user") User user, @Param("monthStart") LocalDate monthStart);
+
+    @Query("SELECT MAX(s.monthStart) FROM UserMonthlySummaryState s WHERE s.user = :user AND s.computedVersion > 0")
+    Optional<LocalDate> findLastComputedMonthStart(@Param("user") User user);
+
+    @Query("SELECT MAX(s.monthStart) FROM UserMonthlySummaryState s " +
+            "WHERE s.user = :user AND s.computedVersion > 0 AND s.monthStart < :monthStart")
+    Optional<LocalDate> findLastComputedMonthStartBefore(@Param("user") User user, @Param("monthStart") LocalDate monthStart);
+
+    @Query("SELECT s.monthStart FROM UserMonthlySummaryState s " +
+            "WHERE s.user = :user AND s.computedVersion < s.dataVersion AND s.monthStart <= :monthStart " +
+            "ORDER BY s.monthStart")
+    List<LocalDate> findStaleMonthStartsUpTo(@Param("user") User user, @Param("monthStart") LocalDate monthStart);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserMonthlySummaryState s SET s.dataVersion = s.dataVersion + 1, s.updatedAt = :updatedAt " +
+            "WHERE s.user = :user AND s.monthStart = :monthStart")
+    int incrementDataVersion(@Param("user") User user,
+                             @Param("monthStart") LocalDate monthStart,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -2,9 +2,19 @@ package com.example.expensetrackerspring.core.persistance.repository;
 
 import com.example.expensetrackerspring.core.persistance.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Query("SELECT u.ledgerVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findLedgerVersion(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.ledgerVersion = u.ledgerVersion + 1 WHERE u.id = :userId")
+    int incrementLedgerVersion(@Param("userId") Long userId);
 }
@@ -1,5 +1,6 @@
 package com.example.expensetrackerspring.core.service;
 
+import com.example.expensetrackerspring.rest.payload.request.RefreshTokenRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignInRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
 import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
@@ -7,4 +8,5 @@ import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
 public interface AuthenticationService {
     void userSignUp(SignUpRequest signUpRequest);
     SignInResponse userSignIn(SignInRequest signInRequest);
+    SignInResponse refreshTokens(RefreshTokenRequest refreshTokenRequest);
 }
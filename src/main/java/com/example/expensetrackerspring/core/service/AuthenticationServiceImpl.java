@@ -1,13 +1,18 @@
 package com.example.expensetrackerspring.core.service;
 
 import com.example.expensetrackerspring.core.exceptions.InvalidCredentialException;
+import com.example.expensetrackerspring.core.exceptions.InvalidTokenException;
 import com.example.expensetrackerspring.core.exceptions.InvalidUsernameException;
 import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
 import com.example.expensetrackerspring.core.persistance.entity.User;
 import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.rest.payload.request.RefreshTokenRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignInRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
 import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
+import com.example.expensetrackerspring.security.TokenClaims;
+import com.example.expensetrackerspring.security.TokenService;
+import com.example.expensetrackerspring.security.TokenType;
 import com.example.expensetrackerspring.utils.UserInputValidation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -22,10 +27,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
     @Autowired
-    public AuthenticationServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthenticationServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenService = tokenService;
     }
 
 
@@ -69,7 +76,22 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new InvalidCredentialException("Invalid credentials");
         }
 
-        return new SignInResponse(true, "Successfully logged in");
+        return tokenService.issueTokens(user);
+    }
+
+    @Override
+    public SignInResponse refreshTokens(RefreshTokenRequest refreshTokenRequest) {
+        if (refreshTokenRequest == null || refreshTokenRequest.refreshToken() == null) {
+            throw new InvalidTokenException("Refresh token is required");
+        }
+
+        TokenClaims claims = tokenService.parse(refreshTokenRequest.refreshToken(), TokenType.REFRESH);
+
+        User user = userRepository.findById(claims.userId())
+                .filter(existing -> existing.getUsername().equals(claims.username()))
+                .orElseThrow(() -> new InvalidTokenException("Refresh token is no longer valid"));
+
+        return tokenService.issueTokens(user);
     }
 
     private boolean userExists(String username) {
@@ -0,0 +1,123 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache.MonthRange;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+@Component
+public class DirtyMonthCollector {
+
+    private final UserMonthlySummaryService userMonthlySummaryService;
+    private final SummaryRecomputeQueue summaryRecomputeQueue;
+    private final MonthlyReadCache monthlyReadCache;
+
+    public DirtyMonthCollector(UserMonthlySummaryService userMonthlySummaryService,
+                               SummaryRecomputeQueue summaryRecomputeQueue,
+                               MonthlyReadCache monthlyReadCache) {
+        this.userMonthlySummaryService = userMonthlySummaryService;
+        this.summaryRecomputeQueue = summaryRecomputeQueue;
+        this.monthlyReadCache = monthlyReadCache;
+    }
+
+    public void markDirty(User user, LocalDate date) {
+        markDirty(user, YearMonth.from(date));
+    }
+
+    public void markDirty(User user, LocalDate from, LocalDate to) {
+        // Cached transaction lists also cover months without summary rows, so they drop the whole range.
+        invalidate(user, new MonthRange(YearMonth.from(from), to == null ? null : YearMonth.from(to)));
+
+        // Months after the last materialized one are filled in when first read, so an open-ended
+        // rule only touches the months that already hold summary rows.
+        Optional<YearMonth> lastComputedMonth = userMonthlySummaryService.getLastComputedMonth(user);
+        if (lastComputedMonth.isEmpty()) {
+            return;
+        }
+
+        YearMonth last = to == null || YearMonth.from(to).isAfter(lastComputedMonth.get())
+                ? lastComputedMonth.get()
+                : YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            markStale(user, month);
+        }
+    }
+
+    public void markDirty(User user, YearMonth month) {
+        invalidate(user, MonthRange.of(month));
+        markStale(user, month);
+    }
+
+    private void invalidate(User user, MonthRange range) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            monthlyReadCache.evict(user.getId(), List.of(range));
+            return;
+        }
+        dirtyMonths().invalidate(user, range);
+    }
+
+    private void markStale(User user, YearMonth month) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userMonthlySummaryService.markStale(user, month);
+            summaryRecomputeQueue.enqueue(user, List.of(month));
+            return;
+        }
+
+        if (dirtyMonths().add(user, month)) {
+            userMonthlySummaryService.markStale(user, month);
+        }
+    }
+
+    private DirtyMonths dirtyMonths() {
+        DirtyMonths dirtyMonths = (DirtyMonths) TransactionSynchronizationManager.getResource(this);
+        if (dirtyMonths == null) {
+            dirtyMonths = new DirtyMonths();
+            TransactionSynchronizationManager.bindResource(this, dirtyMonths);
+            TransactionSynchronizationManager.registerSynchronization(dirtyMonths);
+        }
+        return dirtyMonths;
+    }
+
+    private class DirtyMonths implements TransactionSynchronization {
+
+        private final Map<Long, User> users = new HashMap<>();
+        private final Map<Long, SortedSet<YearMonth>> monthsByUser = new HashMap<>();
+        private final Map<Long, List<MonthRange>> invalidatedByUser = new HashMap<>();
+
+        boolean add(User user, YearMonth month) {
+            users.putIfAbsent(user.getId(), user);
+            return monthsByUser.computeIfAbsent(user.getId(), id -> new TreeSet<>()).add(month);
+        }
+
+        void invalidate(User user, MonthRange range) {
+            invalidatedByUser.computeIfAbsent(user.getId(), id -> new ArrayList<>()).add(range);
+        }
+
+        @Override
+        public void afterCommit() {
+            // Readers that loaded before this point may have seen either side of the commit, so cached
+            // months are dropped only once the write is visible to everyone.
+            invalidatedByUser.forEach(monthlyReadCache::evict);
+
+            // The stale marks are committed with the write; recomputing them is left to the
+            // background workers, or to the first read that gets there before them.
+            monthsByUser.forEach((userId, months) -> summaryRecomputeQueue.enqueue(users.get(userId), months));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DirtyMonthCollector.this);
+        }
+    }
+}
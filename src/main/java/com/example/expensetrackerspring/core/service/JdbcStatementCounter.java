@@ -0,0 +1,31 @@
+package com.example.expensetrackerspring.core.service;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+public class JdbcStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final transient ThreadLocal<long[]> statements = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        // Called once per prepared statement, so a JDBC batch counts as the one round trip it is.
+        statements.get()[0]++;
+        return sql;
+    }
+
+    // Only ever grows; a unit of work is measured as the difference between two reads on the same thread.
+    public long current() {
+        return statements.get()[0];
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
+import com.example.expensetrackerspring.utils.BoundedCache;
+import com.example.expensetrackerspring.utils.BoundedCacheMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class MonthlyReadCache implements MeterBinder {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final BoundedCache<MonthKey, List<TransactionResponse>> transactions;
+    private final BoundedCache<MonthKey, List<DailySummaryResponse>> summaries;
+    private final AtomicLong[] generations = new AtomicLong[GENERATION_STRIPES];
+
+    public MonthlyReadCache(@Value("${monthly-read-cache.max-size:5000}") int maxSize,
+                            @Value("${monthly-read-cache.ttl:PT10M}") Duration ttl) {
+        this.transactions = new BoundedCache<>(maxSize, ttl, MonthKey::userId);
+        this.summaries = new BoundedCache<>(maxSize, ttl, MonthKey::userId);
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations[i] = new AtomicLong();
+        }
+    }
+
+    public List<TransactionResponse> transactions(Long userId, YearMonth month,
+                                                  Supplier<List<TransactionResponse>> loader) {
+        return getOrLoad(transactions, userId, month, loader);
+    }
+
+    public List<DailySummaryResponse> summaries(Long userId, YearMonth month,
+                                                Supplier<List<DailySummaryResponse>> loader) {
+        return getOrLoad(summaries, userId, month, loader);
+    }
+
+    public void evict(Long userId, Collection<MonthRange> ranges) {
+        YearMonth earliest = ranges.stream()
+                .map(MonthRange::from)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        if (earliest == null) {
+            return;
+        }
+
+        AtomicLong generation = generation(userId);
+        synchronized (generation) {
+            generation.incrementAndGet();
+            // Only this user's months are visited, so a write never walks the other users' entries.
+            transactions.evictGroupIf(userId,
+                    key -> ranges.stream().anyMatch(range -> range.covers(key.month())));
+            // Savings carry over month to month, so every later summary moves with the earliest touched one.
+            summaries.evictGroupIf(userId, key -> !key.month().isBefore(earliest));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, transactions, "month-transactions");
+        bind(registry, summaries, "month-summaries");
+    }
+
+    private <V> List<V> getOrLoad(BoundedCache<MonthKey, List<V>> cache, Long userId, YearMonth month,
+                                  Supplier<List<V>> loader) {
+        MonthKey key = new MonthKey(userId, month);
+        List<V> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        AtomicLong generation = generation(userId);
+        long seen = generation.get();
+        List<V> loaded = List.copyOf(loader.get());
+        synchronized (generation) {
+            // A write committed while loading may or may not be part of what was read; serve it once, don't keep it.
+            if (generation.get() == seen) {
+                cache.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private AtomicLong generation(Long userId) {
+        return generations[Math.floorMod(Long.hashCode(userId), GENERATION_STRIPES)];
+    }
+
+    private static void bind(MeterRegistry registry, BoundedCache<MonthKey, ? extends List<?>> cache, String name) {
+        new BoundedCacheMetrics(cache, name, Tags.empty()).bindTo(registry);
+        Gauge.builder("cache.rows", cache, rows -> rows.sumOf(List::size))
+                .tag("cache", name)
+                .description("Response rows held by the cache, which dominate its heap footprint")
+                .register(registry);
+    }
+
+    public record MonthRange(YearMonth from, YearMonth to) {
+
+        public static MonthRange of(YearMonth month) {
+            return new MonthRange(month, month);
+        }
+
+        boolean covers(YearMonth month) {
+            return !month.isBefore(from) && (to == null || !month.isAfter(to));
+        }
+    }
+
+    private record MonthKey(Long userId, YearMonth month) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+
+@Aspect
+@Component
+// Outside the transaction interceptor, so commit time and the statements flushed on commit belong to the call.
+@Order(0)
+public class ServiceMetricsAspect {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcStatementCounter jdbcStatementCounter;
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, JdbcStatementCounter jdbcStatementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcStatementCounter = jdbcStatementCounter;
+    }
+
+    @Around("execution(public * com.example.expensetrackerspring.core.service.TransactionService+.*(..)) || " +
+            "execution(public * com.example.expensetrackerspring.core.service.UserMonthlySummaryService+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Call parent = currentCall.get();
+        Call call = new Call(parent, jdbcStatementCounter.current());
+        currentCall.set(call);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (parent == null) {
+                currentCall.remove();
+            } else {
+                currentCall.set(parent);
+            }
+
+            String service = joinPoint.getThis() instanceof TransactionService
+                    ? TransactionService.class.getSimpleName()
+                    : UserMonthlySummaryService.class.getSimpleName();
+            String method = joinPoint.getSignature().getName();
+            sample.stop(Timer.builder("ledger.service.calls")
+                    .description("Calls into the ledger services")
+                    .tag("class", service)
+                    .tag("method", method)
+                    .tag("endpoint", endpoint())
+                    .tag("frequency", frequency(joinPoint.getArgs()))
+                    .tag("months", monthsBucket(call.touchedMonths.size()))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+            DistributionSummary.builder("ledger.service.jdbc.statements")
+                    .description("JDBC statements prepared by one ledger service call, including nested calls")
+                    .baseUnit("statements")
+                    .tag("class", service)
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry)
+                    .record(jdbcStatementCounter.current() - call.statementsBefore);
+        }
+    }
+
+    // Every month whose summary a write invalidates passes through markStale, nested calls included.
+    @Before("execution(public * com.example.expensetrackerspring.core.service.UserMonthlySummaryService+" +
+            ".markStale(..)) && args(user, month)")
+    public void monthTouched(User user, YearMonth month) {
+        for (Call call = currentCall.get(); call != null; call = call.parent) {
+            call.touchedMonths.add(month);
+        }
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                return request.getMethod() + " " + pattern;
+            }
+        }
+        // Background recomputes and startup work run outside any request.
+        return NONE;
+    }
+
+    private static String frequency(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof SaveTransactionRequest request && request.recurrenceFrequency() != null) {
+                return request.recurrenceFrequency().name();
+            }
+            if (arg instanceof RecurrenceFrequency frequency) {
+                return frequency.name();
+            }
+        }
+        return NONE;
+    }
+
+    // Bucketed to keep the tag's cardinality fixed however far a recurring write reaches.
+    private static String monthsBucket(int months) {
+        if (months <= 1) {
+            return String.valueOf(months);
+        }
+        if (months <= 3) {
+            return "2-3";
+        }
+        return months <= 12 ? "4-12" : "13+";
+    }
+
+    private static final class Call {
+
+        private final Call parent;
+        private final long statementsBefore;
+        private final Set<YearMonth> touchedMonths = new HashSet<>();
+
+        private Call(Call parent, long statementsBefore) {
+            this.parent = parent;
+            this.statementsBefore = statementsBefore;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+@Component
+public class SummaryRecomputeQueue implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryRecomputeQueue.class);
+
+    private final UserMonthlySummaryService userMonthlySummaryService;
+    private final int workerCount;
+    private final LongSupplier ticker;
+
+    private final Map<Long, PendingMonths> pendingByUser = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> readyUsers = new LinkedBlockingQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder recomputed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @Autowired
+    public SummaryRecomputeQueue(UserMonthlySummaryService userMonthlySummaryService,
+                                 @Value("${summary.recompute.workers:2}") int workerCount) {
+        this(userMonthlySummaryService, workerCount, System::nanoTime);
+    }
+
+    public SummaryRecomputeQueue(UserMonthlySummaryService userMonthlySummaryService, int workerCount,
+                                 LongSupplier ticker) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException("Worker count must not be negative");
+        }
+        this.userMonthlySummaryService = userMonthlySummaryService;
+        this.workerCount = workerCount;
+        this.ticker = ticker;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "summary-recompute-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        workers.clear();
+    }
+
+    public void enqueue(User user, Collection<YearMonth> months) {
+        pendingByUser.compute(user.getId(), (userId, pending) -> {
+            if (pending == null) {
+                pending = new PendingMonths(user, ticker.getAsLong());
+                readyUsers.add(userId);
+            }
+            for (YearMonth month : months) {
+                if (pending.months.add(month)) {
+                    depth.incrementAndGet();
+                } else {
+                    coalesced.increment();
+                }
+            }
+            return pending;
+        });
+    }
+
+    public boolean drainNext(long timeout, TimeUnit unit) throws InterruptedException {
+        Long userId = readyUsers.poll(timeout, unit);
+        if (userId == null) {
+            return false;
+        }
+        PendingMonths pending = pendingByUser.remove(userId);
+        if (pending == null) {
+            return true;
+        }
+        depth.addAndGet(-pending.months.size());
+
+        // Oldest first, so each month opens from an already recomputed previous month.
+        for (YearMonth month : pending.months) {
+            try {
+                if (userMonthlySummaryService.recomputeIfStale(pending.user, month)) {
+                    recomputed.increment();
+                }
+            } catch (RuntimeException e) {
+                // The month stays stale, so the next read recomputes it in-line.
+                failed.increment();
+                logger.warn("Recomputing summary of user {} for {} failed", userId, month, e);
+            }
+        }
+        return true;
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    public long oldestPendingAgeNanos() {
+        long now = ticker.getAsLong();
+        return pendingByUser.values().stream()
+                .mapToLong(pending -> now - pending.enqueuedAt)
+                .max()
+                .orElse(0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("summary.recompute.queue.depth", this, SummaryRecomputeQueue::depth)
+                .description("Months waiting for a summary recompute")
+                .register(registry);
+        TimeGauge.builder("summary.recompute.lag", this, TimeUnit.NANOSECONDS,
+                        SummaryRecomputeQueue::oldestPendingAgeNanos)
+                .description("Age of the oldest pending summary recompute")
+                .register(registry);
+        FunctionCounter.builder("summary.recompute.coalesced", coalesced, LongAdder::sum)
+                .description("Dirty-month events merged into an already pending recompute")
+                .register(registry);
+        FunctionCounter.builder("summary.recompute.completed", recomputed, LongAdder::sum)
+                .description("Months recomputed by the background workers")
+                .register(registry);
+        FunctionCounter.builder("summary.recompute.failed", failed, LongAdder::sum)
+                .description("Background month recomputes that failed")
+                .register(registry);
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                drainNext(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static class PendingMonths {
+
+        private final User user;
+        private final long enqueuedAt;
+        private final SortedSet<YearMonth> months = new TreeSet<>();
+
+        PendingMonths(User user, long enqueuedAt) {
+            this.user = user;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
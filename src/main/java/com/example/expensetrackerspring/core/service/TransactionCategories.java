@@ -0,0 +1,105 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.persistance.repository.TransactionCategoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TransactionCategories {
+
+    private final TransactionCategoryRepository transactionCategoryRepository;
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    public TransactionCategories(TransactionCategoryRepository transactionCategoryRepository) {
+        this.transactionCategoryRepository = transactionCategoryRepository;
+    }
+
+    public static String normalize(String category) {
+        return category.strip().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    public Integer idOf(String category) {
+        if (category == null) {
+            return null;
+        }
+        String name = normalize(category);
+        Integer cached = cachedId(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<Integer> existing = transactionCategoryRepository.findIdByName(name);
+        if (existing.isPresent()) {
+            return remember(name, existing.get());
+        }
+
+        // A concurrent insert of the same name makes this wait for it and then find its row.
+        transactionCategoryRepository.insertIfAbsent(name);
+        Integer id = transactionCategoryRepository.findIdByName(name)
+                .orElseThrow(() -> new IllegalStateException("Category was not stored: " + name));
+        return remember(name, id);
+    }
+
+    public Optional<Integer> findId(String category) {
+        if (category == null) {
+            return Optional.empty();
+        }
+        String name = normalize(category);
+        Integer cached = cachedId(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return transactionCategoryRepository.findIdByName(name).map(id -> remember(name, id));
+    }
+
+    private Integer cachedId(String name) {
+        Integer cached = idsByName.get(name);
+        if (cached != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return cached;
+        }
+        PendingIds pendingIds = (PendingIds) TransactionSynchronizationManager.getResource(this);
+        return pendingIds == null ? null : pendingIds.idsByName.get(name);
+    }
+
+    private Integer remember(String name, Integer id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idsByName.put(name, id);
+            return id;
+        }
+        // The row may be this transaction's own insert, which is gone again if it rolls back.
+        pendingIds().idsByName.put(name, id);
+        return id;
+    }
+
+    private PendingIds pendingIds() {
+        PendingIds pendingIds = (PendingIds) TransactionSynchronizationManager.getResource(this);
+        if (pendingIds == null) {
+            pendingIds = new PendingIds();
+            TransactionSynchronizationManager.bindResource(this, pendingIds);
+            TransactionSynchronizationManager.registerSynchronization(pendingIds);
+        }
+        return pendingIds;
+    }
+
+    private class PendingIds implements TransactionSynchronization {
+
+        private final Map<String, Integer> idsByName = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            TransactionCategories.this.idsByName.putAll(idsByName);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionCategories.this);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.expensetrackerspring.core.service;
+
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+
+    long exportCsv(Long userId, OutputStream output);
+
+    long exportNdjson(Long userId, OutputStream output);
+}
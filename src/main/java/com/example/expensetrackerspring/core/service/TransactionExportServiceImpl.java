@@ -0,0 +1,127 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
+import com.example.expensetrackerspring.rest.payload.response.TransactionExportRow;
+import com.example.expensetrackerspring.utils.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final List<String> CSV_HEADER = Arrays.stream(TransactionExportRow.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList();
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportServiceImpl(TransactionRepository transactionRepository,
+                                        EntityManager entityManager,
+                                        ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // The read-only transaction keeps the JDBC connection out of autocommit, which PostgreSQL needs
+    // before it will honour the fetch size with a server-side cursor instead of buffering every row.
+    @Transactional(readOnly = true)
+    @Override
+    public long exportCsv(Long userId, OutputStream output) {
+        Writer writer = writerFor(output);
+        CsvWriter csv = new CsvWriter(writer);
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserId(userId)) {
+            csv.writeRecord(CSV_HEADER);
+            long exported = 0;
+            for (Iterator<Transaction> it = transactions.iterator(); it.hasNext(); exported++) {
+                TransactionExportRow row = toRow(it.next());
+                csv.writeRecord(Arrays.asList(
+                        row.id(),
+                        row.name(),
+                        row.description(),
+                        row.amount(),
+                        row.category(),
+                        row.startDate(),
+                        row.endDate(),
+                        row.recurrenceFrequency(),
+                        row.transactionType(),
+                        row.ruleBased(),
+                        row.seriesId()
+                ));
+            }
+            writer.flush();
+            return exported;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportNdjson(Long userId, OutputStream output) {
+        Writer writer = writerFor(output);
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserId(userId);
+             SequenceWriter rows = objectMapper.writer()
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(writer)) {
+            long exported = 0;
+            for (Iterator<Transaction> it = transactions.iterator(); it.hasNext(); exported++) {
+                rows.write(toRow(it.next()));
+            }
+            rows.flush();
+            if (exported > 0) {
+                writer.write('\n');
+            }
+            writer.flush();
+            return exported;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Writer writerFor(OutputStream output) {
+        return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    private TransactionExportRow toRow(Transaction transaction) {
+        TransactionExportRow row = new TransactionExportRow(
+                transaction.getId(),
+                transaction.getName(),
+                transaction.getDescription(),
+                transaction.getAmount(),
+                transaction.getCategory(),
+                transaction.getStartDate(),
+                transaction.getEndDate(),
+                transaction.getRecurrenceFrequency(),
+                transaction.getTransactionType(),
+                transaction.isRuleBased(),
+                transaction.getSeriesId()
+        );
+        // Written rows are dropped from the persistence context so it does not grow with the history.
+        entityManager.detach(transaction);
+        return row;
+    }
+}
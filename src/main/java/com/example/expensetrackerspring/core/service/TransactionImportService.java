@@ -0,0 +1,12 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.rest.payload.response.ImportTransactionsResponse;
+
+import java.io.InputStream;
+
+public interface TransactionImportService {
+
+    ImportTransactionsResponse importNdjson(InputStream input, Long userId);
+
+    ImportTransactionsResponse importCsv(InputStream input, Long userId);
+}
@@ -0,0 +1,263 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.exceptions.InvalidTransactionDetailsException;
+import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
+import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.rest.payload.request.ImportTransactionRow;
+import com.example.expensetrackerspring.rest.payload.response.ImportTransactionsResponse;
+import com.example.expensetrackerspring.utils.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Service
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final DirtyMonthCollector dirtyMonthCollector;
+    private final UserLedgerLock userLedgerLock;
+    private final UserLedgerVersion userLedgerVersion;
+    private final TransactionCategories transactionCategories;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public TransactionImportServiceImpl(TransactionRepository transactionRepository,
+                                        UserRepository userRepository,
+                                        DirtyMonthCollector dirtyMonthCollector,
+                                        UserLedgerLock userLedgerLock,
+                                        UserLedgerVersion userLedgerVersion,
+                                        TransactionCategories transactionCategories,
+                                        EntityManager entityManager,
+                                        ObjectMapper objectMapper,
+                                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.dirtyMonthCollector = dirtyMonthCollector;
+        this.userLedgerLock = userLedgerLock;
+        this.userLedgerVersion = userLedgerVersion;
+        this.transactionCategories = transactionCategories;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    @Override
+    public ImportTransactionsResponse importNdjson(InputStream input, Long userId) {
+        userLedgerLock.lock(userId);
+        userLedgerVersion.bump(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        Importer importer = new Importer(user);
+
+        try (MappingIterator<ImportTransactionRow> rows = objectMapper
+                .readerFor(ImportTransactionRow.class)
+                .readValues(input)) {
+            while (rows.hasNextValue()) {
+                long line = rows.getCurrentLocation().getLineNr();
+                importer.add(rows.nextValue(), line);
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidTransactionDetailsException(
+                    "Invalid JSON at line " + e.getLocation().getLineNr() + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return importer.finish();
+    }
+
+    @Transactional
+    @Override
+    public ImportTransactionsResponse importCsv(InputStream input, Long userId) {
+        userLedgerLock.lock(userId);
+        userLedgerVersion.bump(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        Importer importer = new Importer(user);
+
+        try {
+            CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                return importer.finish();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+
+            long line = csv.getLineNumber();
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (!(record.size() == 1 && record.get(0).isBlank())) {
+                    importer.add(toRow(columns, record, line), line);
+                }
+                line = csv.getLineNumber();
+            }
+        } catch (IOException e) {
+            throw new InvalidTransactionDetailsException("Invalid CSV: " + e.getMessage());
+        }
+
+        return importer.finish();
+    }
+
+    private ImportTransactionRow toRow(Map<String, Integer> columns, List<String> record, long line) {
+        try {
+            String amount = column(columns, record, "amount");
+            String startDate = column(columns, record, "startDate");
+            String endDate = column(columns, record, "endDate");
+            String frequency = column(columns, record, "recurrenceFrequency");
+            String transactionType = column(columns, record, "transactionType");
+            String ruleBased = column(columns, record, "ruleBased");
+            String seriesId = column(columns, record, "seriesId");
+
+            return new ImportTransactionRow(
+                    null,
+                    column(columns, record, "name"),
+                    column(columns, record, "description"),
+                    amount != null ? new BigDecimal(amount) : null,
+                    column(columns, record, "category"),
+                    startDate != null ? LocalDate.parse(startDate) : null,
+                    endDate != null ? LocalDate.parse(endDate) : null,
+                    frequency != null ? RecurrenceFrequency.fromString(frequency) : null,
+                    transactionType != null ? TransactionType.valueOf(transactionType.toUpperCase()) : null,
+                    ruleBased != null ? Boolean.valueOf(ruleBased) : null,
+                    seriesId
+            );
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidTransactionDetailsException("Invalid value at line " + line + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTransactionDetailsException("Invalid enum value at line " + line + ": " + e.getMessage());
+        }
+    }
+
+    private String column(Map<String, Integer> columns, List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isBlank()) {
+            return null;
+        }
+        return record.get(index).trim();
+    }
+
+    private class Importer {
+
+        private final User user;
+        private final List<Transaction> batch = new ArrayList<>();
+        private final SortedSet<YearMonth> touchedMonths = new TreeSet<>();
+        private final List<Transaction> rules = new ArrayList<>();
+        // Series ids from the file only group rows within it; reusing them would join the rows to a series
+        // already in the account, for example when the same file is imported twice.
+        private final Map<String, String> seriesIds = new HashMap<>();
+        private long imported;
+
+        Importer(User user) {
+            this.user = user;
+        }
+
+        void add(ImportTransactionRow request, long line) {
+            Transaction transaction = toTransaction(request, line);
+            batch.add(transaction);
+            if (transaction.isRuleBased()) {
+                rules.add(transaction);
+            } else {
+                touchedMonths.add(YearMonth.from(transaction.getStartDate()));
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        ImportTransactionsResponse finish() {
+            flush();
+
+            // Summaries are marked only after the last batch, so each month is recomputed once at commit
+            // and the stale markers' bulk updates do not flush half-filled insert batches.
+            for (YearMonth month : touchedMonths) {
+                dirtyMonthCollector.markDirty(user, month);
+            }
+            for (Transaction rule : rules) {
+                dirtyMonthCollector.markDirty(user, rule.getStartDate(), rule.getEndDate());
+            }
+
+            return new ImportTransactionsResponse(true, "Transactions imported successfully", imported);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionRepository.saveAll(batch);
+            entityManager.flush();
+            entityManager.clear();
+            imported += batch.size();
+            batch.clear();
+        }
+
+        private Transaction toTransaction(ImportTransactionRow request, long line) {
+            if (request.name() == null || request.amount() == null || request.category() == null
+                    || request.startDate() == null || request.transactionType() == null) {
+                throw new InvalidTransactionDetailsException(
+                        "Line " + line + ": name, amount, category, startDate and transactionType are required");
+            }
+
+            RecurrenceFrequency frequency = request.recurrenceFrequency() != null
+                    ? request.recurrenceFrequency()
+                    : RecurrenceFrequency.SINGLE;
+            // A recurring row that is not a rule is one materialized occurrence of a series, as the export
+            // writes them; like any stored occurrence it counts on its start date alone.
+            boolean ruleBased = frequency != RecurrenceFrequency.SINGLE && Boolean.TRUE.equals(request.ruleBased());
+            String seriesId = ruleBased || request.seriesId() == null
+                    ? null
+                    : seriesIds.computeIfAbsent(request.seriesId(), imported -> UUID.randomUUID().toString());
+            // Rules may be open-ended, and occurrences keep the end date of their series.
+            LocalDate endDate = ruleBased || frequency != RecurrenceFrequency.SINGLE && request.endDate() != null
+                    ? request.endDate()
+                    : request.startDate();
+
+            return Transaction.builder()
+                    .user(user)
+                    .name(request.name())
+                    .description(request.description())
+                    .amount(request.amount())
+                    .category(request.category())
+                    .categoryId(transactionCategories.idOf(request.category()))
+                    .recurrenceFrequency(frequency)
+                    .startDate(request.startDate())
+                    .endDate(endDate)
+                    .transactionType(request.transactionType())
+                    .ruleBased(ruleBased)
+                    .seriesId(seriesId)
+                    .build();
+        }
+    }
+}
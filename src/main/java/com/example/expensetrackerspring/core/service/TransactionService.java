@@ -7,6 +7,7 @@ import com.example.expensetrackerspring.rest.payload.request.RemoveTransactionRe
 import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.response.RemoveTransactionResponse;
 import com.example.expensetrackerspring.rest.payload.response.SaveTransactionResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionPageResponse;
 import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +24,9 @@ public interface TransactionService {
 
     Page<TransactionResponse> getAllTransactions(Pageable pageable, Long userId, TransactionType transactionType);
 
+    TransactionPageResponse listTransactions(Long userId, TransactionType transactionType, String category,
+                                             String cursor, int limit);
+
     Optional<TransactionResponse> updateTransaction(SaveTransactionRequest saveTransactionRequest, Long userId);
 
     RemoveTransactionResponse deleteTransaction(RemoveTransactionRequest removeTransactionRequest, Long userId);
@@ -2,6 +2,7 @@ package com.example.expensetrackerspring.core.service;
 
 import com.example.expensetrackerspring.core.RecurrenceFrequency;
 import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.exceptions.InvalidTransactionDetailsException;
 import com.example.expensetrackerspring.core.exceptions.TransactionNotFoundException;
 import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
 import com.example.expensetrackerspring.core.persistance.entity.Transaction;
@@ -14,8 +15,12 @@ import com.example.expensetrackerspring.rest.payload.request.RemoveTransactionRe
 import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.response.RemoveTransactionResponse;
 import com.example.expensetrackerspring.rest.payload.response.SaveTransactionResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionPageResponse;
 import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
+import com.example.expensetrackerspring.utils.PageCursor;
+import com.example.expensetrackerspring.utils.RecurrenceRules;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,8 +28,10 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,23 +40,38 @@ public class TransactionServiceImpl implements TransactionService {
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final UserMonthlySummaryRepository userMonthlySummaryRepository;
-    private final UserMonthlySummaryService userMonthlySummaryService;
+    private final DirtyMonthCollector dirtyMonthCollector;
+    private final UserLedgerLock userLedgerLock;
+    private final UserLedgerVersion userLedgerVersion;
+    private final MonthlyReadCache monthlyReadCache;
+    private final TransactionCategories transactionCategories;
 
     private static final int DEFAULT_RECURRING_LIMIT = 12;
+    private static final int MAX_PAGE_SIZE = 200;
 
     public TransactionServiceImpl(TransactionRepository transactionRepository,
                                   UserRepository userRepository,
                                   UserMonthlySummaryRepository userMonthlySummaryRepository,
-                                  UserMonthlySummaryService userMonthlySummaryService) {
+                                  DirtyMonthCollector dirtyMonthCollector,
+                                  UserLedgerLock userLedgerLock,
+                                  UserLedgerVersion userLedgerVersion,
+                                  MonthlyReadCache monthlyReadCache,
+                                  TransactionCategories transactionCategories) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
         this.userMonthlySummaryRepository = userMonthlySummaryRepository;
-        this.userMonthlySummaryService = userMonthlySummaryService;
+        this.dirtyMonthCollector = dirtyMonthCollector;
+        this.userLedgerLock = userLedgerLock;
+        this.userLedgerVersion = userLedgerVersion;
+        this.monthlyReadCache = monthlyReadCache;
+        this.transactionCategories = transactionCategories;
     }
 
     @Override
     @Transactional
     public SaveTransactionResponse saveTransaction(SaveTransactionRequest saveTransactionRequest, Long userId) {
+        userLedgerLock.lock(userId);
+        userLedgerVersion.bump(userId);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
@@ -68,13 +90,34 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Invalid frequency: " + saveTransactionRequest.recurrenceFrequency());
         }
 
-        if (frequency != RecurrenceFrequency.SINGLE) {
+        Integer categoryId = transactionCategories.idOf(saveTransactionRequest.category());
+
+        if (frequency != RecurrenceFrequency.SINGLE && Boolean.TRUE.equals(saveTransactionRequest.ruleBased())) {
+            Transaction rule = Transaction.builder()
+                    .user(user)
+                    .name(saveTransactionRequest.name())
+                    .description(saveTransactionRequest.description())
+                    .amount(saveTransactionRequest.amount())
+                    .category(saveTransactionRequest.category())
+                    .categoryId(categoryId)
+                    .recurrenceFrequency(frequency)
+                    .startDate(startDate)
+                    .endDate(saveTransactionRequest.endDate())
+                    .transactionType(saveTransactionRequest.transactionType())
+                    .ruleBased(true)
+                    .build();
+
+            transactionRepository.save(rule);
+
+            dirtyMonthCollector.markDirty(user, startDate, saveTransactionRequest.endDate());
+        } else if (frequency != RecurrenceFrequency.SINGLE) {
             if (endDate == null) {
                 throw new IllegalArgumentException("End date cannot be null for recurring transactions");
             }
 
             int occurrences = 0;
             LocalDate currentDate = startDate;
+            String seriesId = UUID.randomUUID().toString();
 
             while (!currentDate.isAfter(endDate) && occurrences < DEFAULT_RECURRING_LIMIT) {
                 Transaction transaction = Transaction.builder()
@@ -83,15 +126,17 @@ public class TransactionServiceImpl implements TransactionService {
                         .description(saveTransactionRequest.description())
                         .amount(saveTransactionRequest.amount())
                         .category(saveTransactionRequest.category())
+                        .categoryId(categoryId)
                         .recurrenceFrequency(frequency)
                         .startDate(currentDate)
                         .endDate(endDate)
                         .transactionType(saveTransactionRequest.transactionType())
+                        .seriesId(seriesId)
                         .build();
 
                 transactionRepository.save(transaction);
 
-                userMonthlySummaryService.updateDailySummary(currentDate, user);
+                dirtyMonthCollector.markDirty(user, currentDate);
 
                 currentDate = getNextOccurrenceDate(currentDate, frequency);
                 occurrences++;
@@ -103,6 +148,7 @@ public class TransactionServiceImpl implements TransactionService {
                     .description(saveTransactionRequest.description())
                     .amount(saveTransactionRequest.amount())
                     .category(saveTransactionRequest.category())
+                    .categoryId(categoryId)
                     .recurrenceFrequency(frequency)
                     .startDate(startDate)
                     .endDate(startDate)
@@ -111,7 +157,7 @@ public class TransactionServiceImpl implements TransactionService {
 
             transactionRepository.save(transaction);
 
-            userMonthlySummaryService.updateDailySummary(startDate, user);
+            dirtyMonthCollector.markDirty(user, startDate);
         }
 
         return new SaveTransactionResponse(true, "Transaction saved successfully");
@@ -132,24 +178,93 @@ public class TransactionServiceImpl implements TransactionService {
                 .map(this::convertTransactionToDto);
     }
 
+    @Override
+    public TransactionPageResponse listTransactions(Long userId, TransactionType transactionType, String category,
+                                                    String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Integer categoryId = null;
+        if (category != null) {
+            Optional<Integer> knownCategory = transactionCategories.findId(category);
+            if (knownCategory.isEmpty()) {
+                return new TransactionPageResponse(List.of(), null);
+            }
+            categoryId = knownCategory.get();
+        }
+
+        // One extra row tells whether another page exists without a count query.
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstPage(userId, transactionType, categoryId, fetchLimit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            transactions = transactionRepository.findPageAfter(
+                    userId, transactionType, categoryId, after.startDate(), after.id(), fetchLimit);
+        }
+
+        boolean hasMore = transactions.size() > limit;
+        List<Transaction> page = hasMore ? transactions.subList(0, limit) : transactions;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.getStartDate(), last.getId()).encode();
+        }
+
+        return new TransactionPageResponse(
+                page.stream().map(this::convertTransactionToDto).collect(Collectors.toList()),
+                nextCursor
+        );
+    }
+
     @Transactional
     @Override
     public Optional<TransactionResponse> updateTransaction(SaveTransactionRequest saveTransactionRequest, Long userId) {
+        userLedgerLock.lock(userId);
+        userLedgerVersion.bump(userId);
         Transaction existingTransaction = transactionRepository.findByIdAndUserId(saveTransactionRequest.id(), userId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found or access denied"));
 
         boolean isRecurring = existingTransaction.getRecurrenceFrequency() != RecurrenceFrequency.SINGLE;
 
-        if (isRecurring) {
+        if (existingTransaction.isRuleBased()) {
+            LocalDate previousEndDate = existingTransaction.getEndDate();
+
+            applySeriesDetails(existingTransaction, saveTransactionRequest);
+            transactionRepository.save(existingTransaction);
+
+            dirtyMonthCollector.markDirty(existingTransaction.getUser(), existingTransaction.getStartDate(),
+                    laterEndDate(previousEndDate, existingTransaction.getEndDate()));
+        } else if (isRecurring && existingTransaction.getSeriesId() != null) {
+            List<LocalDate> occurrenceDates = transactionRepository.findStartDatesBySeries(userId, existingTransaction.getSeriesId());
+            occurrenceDates.forEach(date -> dirtyMonthCollector.markDirty(existingTransaction.getUser(), date));
+
+            transactionRepository.updateSeries(
+                    userId,
+                    existingTransaction.getSeriesId(),
+                    saveTransactionRequest.name(),
+                    saveTransactionRequest.description(),
+                    saveTransactionRequest.amount(),
+                    saveTransactionRequest.category(),
+                    transactionCategories.idOf(saveTransactionRequest.category()),
+                    saveTransactionRequest.endDate(),
+                    saveTransactionRequest.transactionType()
+            );
+
+            applySeriesDetails(existingTransaction, saveTransactionRequest);
+        } else if (isRecurring) {
 
             List<Transaction> occurrences = transactionRepository.findByUserAndName(existingTransaction.getUser(), existingTransaction.getName());
 
+            updateSummariesForRecurringTransactions(occurrences);
             for (Transaction transaction : occurrences) {
                 updateTransactionDetails(transaction, saveTransactionRequest);
             }
-
             updateSummariesForRecurringTransactions(occurrences);
         } else {
+            updateSummariesForSingleTransaction(existingTransaction);
             updateTransactionDetails(existingTransaction, saveTransactionRequest);
             updateSummariesForSingleTransaction(existingTransaction);
         }
@@ -157,11 +272,29 @@ public class TransactionServiceImpl implements TransactionService {
         return Optional.of(convertTransactionToDto(existingTransaction));
     }
 
+    private LocalDate laterEndDate(LocalDate first, LocalDate second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        return first.isAfter(second) ? first : second;
+    }
+
+    private void applySeriesDetails(Transaction transaction, SaveTransactionRequest request) {
+        transaction.setName(request.name());
+        transaction.setDescription(request.description());
+        transaction.setAmount(request.amount());
+        transaction.setCategory(request.category());
+        transaction.setCategoryId(transactionCategories.idOf(request.category()));
+        transaction.setEndDate(request.endDate());
+        transaction.setTransactionType(request.transactionType());
+    }
+
     private void updateTransactionDetails(Transaction transaction, SaveTransactionRequest request) {
         transaction.setName(request.name());
         transaction.setDescription(request.description());
         transaction.setAmount(request.amount());
         transaction.setCategory(request.category());
+        transaction.setCategoryId(transactionCategories.idOf(request.category()));
         transaction.setStartDate(request.startDate());
         transaction.setEndDate(request.endDate());
         transaction.setTransactionType(request.transactionType());
@@ -173,7 +306,7 @@ public class TransactionServiceImpl implements TransactionService {
         transactions.forEach(transaction -> {
             List<LocalDate> affectedDates = calculateAffectedDates(transaction);
             for (LocalDate date : affectedDates) {
-                userMonthlySummaryService.updateDailySummary(date, transaction.getUser());
+                dirtyMonthCollector.markDirty(transaction.getUser(), date);
             }
         });
     }
@@ -181,7 +314,7 @@ public class TransactionServiceImpl implements TransactionService {
     private void updateSummariesForSingleTransaction(Transaction transaction) {
         List<LocalDate> affectedDates = calculateAffectedDates(transaction);
         for (LocalDate date : affectedDates) {
-            userMonthlySummaryService.updateDailySummary(date, transaction.getUser());
+            dirtyMonthCollector.markDirty(transaction.getUser(), date);
         }
     }
 
@@ -190,14 +323,19 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional
     public RemoveTransactionResponse deleteTransaction(RemoveTransactionRequest request, Long userId) {
+        userLedgerLock.lock(userId);
+        userLedgerVersion.bump(userId);
         Transaction transaction = transactionRepository.findByIdAndUserId(request.id(), userId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found or access denied"));
+        if (transaction.isRuleBased()) {
+            throw new InvalidTransactionDetailsException("Recurring rules can only be deleted with all their occurrences");
+        }
         List<LocalDate> affectedDates = calculateAffectedDates(transaction);
 
         transactionRepository.delete(transaction);
 
         for (LocalDate date : affectedDates) {
-            userMonthlySummaryService.updateDailySummary(date, transaction.getUser());
+            dirtyMonthCollector.markDirty(transaction.getUser(), date);
         }
 
         return new RemoveTransactionResponse(true, "Transaction deleted successfully");
@@ -205,21 +343,39 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Transactional
     public void deleteAllOccurrences(Long transactionId, Long userId) {
+        userLedgerLock.lock(userId);
+        userLedgerVersion.bump(userId);
         Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found or access denied"));
 
-        List<Transaction> allOccurrences = transactionRepository.findByUserAndName(transaction.getUser(), transaction.getName());
+        if (transaction.isRuleBased()) {
+            transactionRepository.delete(transaction);
+            dirtyMonthCollector.markDirty(transaction.getUser(), transaction.getStartDate(), transaction.getEndDate());
+            return;
+        }
+
+        if (transaction.getSeriesId() != null) {
+            List<LocalDate> occurrenceDates = transactionRepository.findStartDatesBySeries(userId, transaction.getSeriesId());
+            occurrenceDates.forEach(date -> dirtyMonthCollector.markDirty(transaction.getUser(), date));
+
+            transactionRepository.deleteBySeries(userId, transaction.getSeriesId());
+            return;
+        }
+
+        List<Transaction> allOccurrences = transaction.getRecurrenceFrequency() == RecurrenceFrequency.SINGLE
+                ? List.of(transaction)
+                : transactionRepository.findByUserAndName(transaction.getUser(), transaction.getName());
 
         allOccurrences.forEach(t -> {
             List<LocalDate> affectedDates = calculateAffectedDates(t);
             transactionRepository.delete(t);
 
-            affectedDates.forEach(date -> userMonthlySummaryService.updateDailySummary(date, t.getUser()));
+            affectedDates.forEach(date -> dirtyMonthCollector.markDirty(t.getUser(), date));
         });
     }
 
 
-    private TransactionResponse convertTransactionToDto(Transaction transaction) {
+    TransactionResponse convertTransactionToDto(Transaction transaction) {
         return new TransactionResponse(
                 transaction.getId(),
                 transaction.getName(),
@@ -232,7 +388,7 @@ public class TransactionServiceImpl implements TransactionService {
         );
     }
 
-    private List<LocalDate> calculateAffectedDates(Transaction transaction) {
+    List<LocalDate> calculateAffectedDates(Transaction transaction) {
         List<LocalDate> affectedDates = new ArrayList<>();
         LocalDate currentDate = transaction.getStartDate();
         LocalDate endDate = transaction.getEndDate() != null ? transaction.getEndDate() : currentDate;
@@ -252,30 +408,54 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     public List<TransactionResponse> getTransactionsForMonth(Long userId, String yearMonth) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-
         YearMonth month = YearMonth.parse(yearMonth);
+        return monthlyReadCache.transactions(userId, month, () -> loadTransactionsForMonth(userId, month));
+    }
+
+    private List<TransactionResponse> loadTransactionsForMonth(Long userId, YearMonth month) {
         LocalDate startDate = month.atDay(1);
         LocalDate endDate = month.atEndOfMonth();
 
-        List<Transaction> transactions = transactionRepository.findByUserAndDateBetween(user, startDate, endDate);
+        // Rows are projected straight into responses, so nothing lands in the persistence context.
+        List<TransactionResponse> transactions =
+                transactionRepository.findResponsesByUserIdAndDateBetween(userId, startDate, endDate);
 
-        return transactions.stream()
-                .map(this::convertTransactionToDto)
-                .collect(Collectors.toList());
+        return withRuleOccurrences(userId, transactions, startDate, endDate);
     }
 
     @Override
     public List<TransactionResponse> getTransactionsForDay(Long userId, LocalDate date) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        List<TransactionResponse> transactions =
+                transactionRepository.findResponsesByUserIdAndDateBetween(userId, date, date);
 
-        List<Transaction> transactions = transactionRepository.findByUserAndDate(user, date);
+        return withRuleOccurrences(userId, transactions, date, date);
+    }
 
-        return transactions.stream()
-                .map(this::convertTransactionToDto)
-                .collect(Collectors.toList());
+    private List<TransactionResponse> withRuleOccurrences(Long userId, List<TransactionResponse> transactions,
+                                                          LocalDate from, LocalDate to) {
+        List<Transaction> rules = transactionRepository.findRulesOverlappingByUserId(userId, from, to);
+        if (rules.isEmpty()) {
+            return transactions;
+        }
+
+        List<TransactionResponse> responses = new ArrayList<>(transactions);
+        for (Transaction rule : rules) {
+            for (LocalDate occurrence : RecurrenceRules.occurrencesBetween(
+                    rule.getStartDate(), rule.getEndDate(), rule.getRecurrenceFrequency(), from, to)) {
+                responses.add(new TransactionResponse(
+                        rule.getId(),
+                        rule.getName(),
+                        rule.getDescription(),
+                        rule.getAmount(),
+                        rule.getCategory(),
+                        occurrence,
+                        rule.getEndDate(),
+                        rule.getTransactionType()
+                ));
+            }
+        }
+        responses.sort(Comparator.comparing(TransactionResponse::startDate));
+        return responses;
     }
 
 
@@ -0,0 +1,94 @@
+package com.example.expensetrackerspring.core.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class UserLedgerLock {
+
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private final ReentrantLock[] stripes;
+    private volatile Boolean advisoryLocksSupported;
+
+    public UserLedgerLock(EntityManager entityManager,
+                          DataSource dataSource,
+                          @Value("${ledger.lock.stripes:256}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Lock stripe count must be positive");
+        }
+        this.entityManager = entityManager;
+        this.dataSource = dataSource;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lock(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("User ledger locks can only be taken inside a transaction");
+        }
+
+        HeldLocks held = (HeldLocks) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new HeldLocks();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(held);
+        }
+        if (!held.userIds.add(userId)) {
+            return;
+        }
+
+        // Threads of this instance queue on the stripe; the advisory lock orders them against other
+        // instances. Both are held until the transaction completes, after its summaries are rewritten.
+        ReentrantLock stripe = stripes[Math.floorMod(Long.hashCode(userId), stripes.length)];
+        stripe.lock();
+        held.stripes.add(stripe);
+
+        if (advisoryLocksSupported()) {
+            entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(:userId)")
+                    .setParameter("userId", userId)
+                    .getSingleResult();
+        }
+    }
+
+    private boolean advisoryLocksSupported() {
+        Boolean supported = advisoryLocksSupported;
+        if (supported == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                supported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not determine database vendor", e);
+            }
+            advisoryLocksSupported = supported;
+        }
+        return supported;
+    }
+
+    private class HeldLocks implements TransactionSynchronization {
+
+        private final Set<Long> userIds = new HashSet<>();
+        private final List<ReentrantLock> stripes = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserLedgerLock.this);
+            for (int i = stripes.size() - 1; i >= 0; i--) {
+                stripes.get(i).unlock();
+            }
+        }
+    }
+}
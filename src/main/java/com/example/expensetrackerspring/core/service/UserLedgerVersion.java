@@ -0,0 +1,29 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserLedgerVersion {
+
+    private final UserRepository userRepository;
+
+    public UserLedgerVersion(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public void bump(Long userId) {
+        userRepository.incrementLedgerVersion(userId);
+    }
+
+    public long current(Long userId) {
+        return userRepository.findLedgerVersion(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    }
+
+    public String etag(Long userId) {
+        // Any mutation of the user's transactions bumps the version, so it validates every derived view.
+        return "\"" + userId + "-" + current(userId) + "\"";
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.expensetrackerspring.core.service;
 
+import com.example.expensetrackerspring.core.SummaryBucket;
 import com.example.expensetrackerspring.core.persistance.entity.User;
-import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserMonthlySummaryService {
     void updateDailySummary(LocalDate date, User user);
 
-    UserMonthlySummary getSummaryForDay(LocalDate date, User user);
+    void markStale(User user, YearMonth month);
 
-    List<UserMonthlySummary> getSummaryForMonth(User user, String yearMonth);
+    boolean recomputeIfStale(User user, YearMonth month);
+
+    Optional<YearMonth> getLastComputedMonth(User user);
+
+    DailySummaryResponse getSummaryForDay(LocalDate date, User user);
+
+    List<DailySummaryResponse> getSummaryForMonth(User user, String yearMonth);
+
+    List<CategoryTotalResponse> getCategoryTotals(User user, String yearMonth);
+
+    List<SummaryRollupResponse> getRollup(User user, LocalDate from, LocalDate to, SummaryBucket bucket);
 }
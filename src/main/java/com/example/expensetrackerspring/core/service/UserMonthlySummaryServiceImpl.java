@@ -1,109 +1,305 @@
 package com.example.expensetrackerspring.core.service;
 
+import com.example.expensetrackerspring.core.SummaryBucket;
 import com.example.expensetrackerspring.core.TransactionType;
 import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.core.persistance.entity.TransactionCategory;
 import com.example.expensetrackerspring.core.persistance.entity.User;
 import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummaryState;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionCategoryRepository;
 import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
 import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryRepository;
+import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryStateRepository;
+import com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
+import com.example.expensetrackerspring.utils.MonthlyTotals;
+import com.example.expensetrackerspring.utils.RecurrenceRules;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class UserMonthlySummaryServiceImpl implements UserMonthlySummaryService {
 
+    private static final int MAX_ROLLUP_MONTHS = 120;
+    // Materializing a month writes every month before it, so how far ahead one can be requested is capped.
+    private static final int MAX_MONTHS_AHEAD = 60;
+
     private final UserMonthlySummaryRepository userMonthlySummaryRepository;
     private final TransactionRepository transactionRepository;
+    private final UserMonthlySummaryStateRepository userMonthlySummaryStateRepository;
+    private final UserLedgerLock userLedgerLock;
+    private final MonthlyReadCache monthlyReadCache;
+    private final TransactionCategoryRepository transactionCategoryRepository;
 
     public UserMonthlySummaryServiceImpl(UserMonthlySummaryRepository userMonthlySummaryRepository,
-                                         TransactionRepository transactionRepository) {
+                                         TransactionRepository transactionRepository,
+                                         UserMonthlySummaryStateRepository userMonthlySummaryStateRepository,
+                                         UserLedgerLock userLedgerLock,
+                                         MonthlyReadCache monthlyReadCache,
+                                         TransactionCategoryRepository transactionCategoryRepository) {
         this.userMonthlySummaryRepository = userMonthlySummaryRepository;
         this.transactionRepository = transactionRepository;
+        this.userMonthlySummaryStateRepository = userMonthlySummaryStateRepository;
+        this.userLedgerLock = userLedgerLock;
+        this.monthlyReadCache = monthlyReadCache;
+        this.transactionCategoryRepository = transactionCategoryRepository;
     }
 
     @Transactional
     @Override
     public void updateDailySummary(LocalDate date, User user) {
+        checkWithinHorizon(YearMonth.from(date));
+        // Recomputes triggered by reads rewrite the same savings chain as mutations, so they queue behind them.
+        userLedgerLock.lock(user.getId());
         YearMonth month = YearMonth.from(date);
 
+        UserMonthlySummaryState state = userMonthlySummaryStateRepository.findByUserAndMonthStart(user, month.atDay(1))
+                .orElseGet(() -> new UserMonthlySummaryState(user, month.atDay(1)));
+
+        // A month computed for the first time needs every earlier month with activity in place,
+        // otherwise rule-based occurrences in skipped months never reach its opening balance.
+        if (state.getComputedVersion() == 0) {
+            materializeMonthsBefore(user, month);
+        }
+
+        recalculateMonth(user, month, state);
+    }
+
+    private void materializeMonthsBefore(User user, YearMonth month) {
+        Optional<YearMonth> firstMissingMonth = userMonthlySummaryStateRepository
+                .findLastComputedMonthStartBefore(user, month.atDay(1))
+                .map(monthStart -> YearMonth.from(monthStart).plusMonths(1))
+                .or(() -> transactionRepository.findFirstStartDate(user).map(YearMonth::from));
+
+        if (firstMissingMonth.isEmpty()) {
+            return;
+        }
+
+        for (YearMonth missing = firstMissingMonth.get(); missing.isBefore(month); missing = missing.plusMonths(1)) {
+            LocalDate missingStart = missing.atDay(1);
+            // Marked-but-never-computed months already own a state row.
+            UserMonthlySummaryState missingState = userMonthlySummaryStateRepository
+                    .findByUserAndMonthStart(user, missingStart)
+                    .orElseGet(() -> new UserMonthlySummaryState(user, missingStart));
+            recalculateMonth(user, missing, missingState);
+        }
+    }
+
+    private void recalculateMonth(User user, YearMonth month, UserMonthlySummaryState state) {
+        LocalDate firstDay = month.atDay(1);
+        LocalDate lastDay = month.atEndOfMonth();
+        long versionAtStart = state.getDataVersion();
+
         LocalDate lastDayOfPreviousMonth = month.minusMonths(1).atEndOfMonth();
-        BigDecimal previousMonthSavings = getPreviousDaySavings(user, lastDayOfPreviousMonth);
+        BigDecimal previousMonthSavings = getClosingSavings(user, lastDayOfPreviousMonth);
 
-        for (LocalDate currentDay = month.atDay(1); !currentDay.isAfter(month.atEndOfMonth()); currentDay = currentDay.plusDays(1)) {
-            LocalDate finalCurrentDay = currentDay;
-            userMonthlySummaryRepository.findByUserAndDate(user, currentDay)
-                    .orElseGet(() -> {
-                        UserMonthlySummary newSummary = new UserMonthlySummary();
-                        newSummary.setUser(user);
-                        newSummary.setDate(finalCurrentDay);
-                        newSummary.setIncome(BigDecimal.ZERO);
-                        newSummary.setExpenses(BigDecimal.ZERO);
-                        newSummary.setSavings(finalCurrentDay.equals(month.atDay(1)) ? previousMonthSavings : BigDecimal.ZERO);
-                        return userMonthlySummaryRepository.save(newSummary);
-                    });
+        // Totals are kept in cents and only become BigDecimal when written, so bulk recomputes
+        // do not allocate a new BigDecimal for every addition.
+        MonthlyTotals totals = new MonthlyTotals(month);
+        for (Transaction transaction : transactionRepository.findByUserAndDateBetween(user, firstDay, lastDay)) {
+            totals.add(transaction.getStartDate(), transaction.getTransactionType(), transaction.getAmount());
+        }
+        for (Transaction rule : transactionRepository.findRulesOverlapping(user, firstDay, lastDay)) {
+            long amountCents = MonthlyTotals.toCents(rule.getAmount());
+            for (LocalDate occurrence : RecurrenceRules.occurrencesBetween(
+                    rule.getStartDate(), rule.getEndDate(), rule.getRecurrenceFrequency(), firstDay, lastDay)) {
+                totals.add(occurrence, rule.getTransactionType(), amountCents);
+            }
         }
 
-        List<UserMonthlySummary> summaries = userMonthlySummaryRepository.findByUserAndDateBetween(
-                user,
-                month.atDay(1),
-                month.atEndOfMonth()
-        );
+        // Later months were built on top of this month's closing balance, or on the previous
+        // month's one if this month was never materialized.
+        BigDecimal oldClosingSavings = userMonthlySummaryRepository.findSavingsByUserAndDate(user, lastDay)
+                .orElse(previousMonthSavings);
 
-        BigDecimal previousDaySavings = previousMonthSavings;
+        List<UserMonthlySummary> summaries = new ArrayList<>(month.lengthOfMonth());
+        long savingsCents = MonthlyTotals.toCents(previousMonthSavings);
 
-        for (UserMonthlySummary summary : summaries) {
-            List<Transaction> transactions = transactionRepository.findByUserAndDate(user, summary.getDate());
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            UserMonthlySummary summary = new UserMonthlySummary(user, month.atDay(day));
+            savingsCents = Math.addExact(savingsCents, totals.netCents(day));
 
-            BigDecimal totalIncome = transactions.stream()
-                    .filter(t -> t.getTransactionType() == TransactionType.INCOME)
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            summary.setIncome(MonthlyTotals.toAmount(totals.incomeCents(day)));
+            summary.setExpenses(MonthlyTotals.toAmount(totals.expenseCents(day)));
+            summary.setSavings(MonthlyTotals.toAmount(savingsCents));
+            summaries.add(summary);
+        }
 
-            BigDecimal totalExpenses = transactions.stream()
-                    .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        userMonthlySummaryRepository.upsertDays(summaries);
 
-            summary.setIncome(totalIncome);
-            summary.setExpenses(totalExpenses);
-            summary.setSavings(previousDaySavings.add(totalIncome).subtract(totalExpenses));
+        state.setComputedVersion(Math.max(state.getComputedVersion(), versionAtStart));
+        userMonthlySummaryStateRepository.save(state);
 
-            userMonthlySummaryRepository.save(summary);
+        BigDecimal delta = MonthlyTotals.toAmount(savingsCents).subtract(oldClosingSavings);
+        if (delta.signum() != 0) {
+            userMonthlySummaryRepository.shiftSavingsAfter(user, lastDay, delta, LocalDateTime.now());
+        }
+    }
 
-            previousDaySavings = summary.getSavings();
+
+    @Transactional
+    @Override
+    public void markStale(User user, YearMonth month) {
+        // Months past the horizon hold no summary yet; they are computed from scratch once they come into range.
+        if (isBeyondHorizon(month)) {
+            return;
+        }
+        LocalDate monthStart = month.atDay(1);
+        if (userMonthlySummaryStateRepository.incrementDataVersion(user, monthStart, LocalDateTime.now()) == 0) {
+            UserMonthlySummaryState state = new UserMonthlySummaryState(user, monthStart);
+            state.setDataVersion(1);
+            userMonthlySummaryStateRepository.save(state);
+        }
+    }
+
+    @Transactional
+    @Override
+    public boolean recomputeIfStale(User user, YearMonth month) {
+        if (isBeyondHorizon(month)) {
+            return false;
+        }
+        userLedgerLock.lock(user.getId());
+        // A read may have caught the month up while it sat in the queue.
+        if (!isStale(user, month)) {
+            return false;
         }
+        updateDailySummary(month.atDay(1), user);
+        return true;
     }
 
+    @Override
+    public Optional<YearMonth> getLastComputedMonth(User user) {
+        return userMonthlySummaryStateRepository.findLastComputedMonthStart(user).map(YearMonth::from);
+    }
 
+    @Transactional
     @Override
-    public List<UserMonthlySummary> getSummaryForMonth(User user, String yearMonth) {
+    public List<DailySummaryResponse> getSummaryForMonth(User user, String yearMonth) {
         YearMonth month = YearMonth.parse(yearMonth);
-        LocalDate startOfMonth = month.atDay(1);
-        LocalDate endOfMonth = month.atEndOfMonth();
 
-        updateDailySummary(startOfMonth, user);
+        return monthlyReadCache.summaries(user.getId(), month, () -> {
+            refreshUpTo(user, month);
+            return userMonthlySummaryRepository.findResponsesByUserIdAndDateBetween(
+                    user.getId(), month.atDay(1), month.atEndOfMonth());
+        });
+    }
 
-        return userMonthlySummaryRepository.findByUserAndDateBetween(user, startOfMonth, endOfMonth);
+    @Transactional
+    @Override
+    public DailySummaryResponse getSummaryForDay(LocalDate date, User user) {
+        refreshUpTo(user, YearMonth.from(date));
+
+        return userMonthlySummaryRepository.findResponseByUserIdAndDate(user.getId(), date)
+                .orElseThrow(() -> new RuntimeException("Summary not found for date: " + date));
     }
 
+    @Transactional
+    @Override
+    public List<CategoryTotalResponse> getCategoryTotals(User user, String yearMonth) {
+        YearMonth month = YearMonth.parse(yearMonth);
+        LocalDate firstDay = month.atDay(1);
+        LocalDate lastDay = month.atEndOfMonth();
+
+        Map<CategoryKey, CategoryTotalResponse> totals = new LinkedHashMap<>();
+        for (CategoryTotalResponse total : transactionRepository.findCategoryTotalsByUserIdAndDateBetween(
+                user.getId(), firstDay, lastDay)) {
+            totals.put(new CategoryKey(total.category(), total.transactionType()), total);
+        }
+
+        // Rules are stored once and only become rows of this month once their occurrences are expanded.
+        List<Transaction> rules = transactionRepository.findRulesOverlappingByUserId(user.getId(), firstDay, lastDay);
+        if (!rules.isEmpty()) {
+            Map<Integer, String> names = transactionCategoryRepository
+                    .findAllById(rules.stream().map(Transaction::getCategoryId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(TransactionCategory::getId, TransactionCategory::getName));
+            for (Transaction rule : rules) {
+                int occurrences = RecurrenceRules.occurrencesBetween(
+                        rule.getStartDate(), rule.getEndDate(), rule.getRecurrenceFrequency(), firstDay, lastDay).size();
+                if (occurrences == 0) {
+                    continue;
+                }
+                CategoryKey key = new CategoryKey(names.get(rule.getCategoryId()), rule.getTransactionType());
+                totals.merge(key,
+                        new CategoryTotalResponse(key.category(), key.transactionType(),
+                                rule.getAmount().multiply(BigDecimal.valueOf(occurrences)), occurrences),
+                        (a, b) -> new CategoryTotalResponse(a.category(), a.transactionType(),
+                                a.total().add(b.total()), a.count() + b.count()));
+            }
+        }
+
+        return totals.values().stream()
+                .sorted(Comparator.comparing(CategoryTotalResponse::transactionType)
+                        .thenComparing(CategoryTotalResponse::total, Comparator.reverseOrder()))
+                .toList();
+    }
 
+    @Transactional
     @Override
-    public UserMonthlySummary getSummaryForDay(LocalDate date, User user) {
-        return userMonthlySummaryRepository.findByUserAndDate(user, date)
-                .orElseThrow(() -> new RuntimeException("Summary not found for date: " + date));
+    public List<SummaryRollupResponse> getRollup(User user, LocalDate from, LocalDate to, SummaryBucket bucket) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start " + from + " is after its end " + to);
+        }
+        if (YearMonth.from(from).plusMonths(MAX_ROLLUP_MONTHS).isBefore(YearMonth.from(to))) {
+            throw new IllegalArgumentException("Range may span at most " + MAX_ROLLUP_MONTHS + " months");
+        }
+
+        refreshUpTo(user, YearMonth.from(to));
+
+        return userMonthlySummaryRepository.rollup(user.getId(), from, to, bucket);
+    }
+
+    private void refreshUpTo(User user, YearMonth month) {
+        checkWithinHorizon(month);
+        // Writes only mark months stale, so a read catches up whatever the workers have not reached
+        // yet, including earlier months whose closing balance this month opens from.
+        for (LocalDate monthStart : userMonthlySummaryStateRepository.findStaleMonthStartsUpTo(user, month.atDay(1))) {
+            if (monthStart.isBefore(month.atDay(1))) {
+                updateDailySummary(monthStart, user);
+            }
+        }
+        if (isStale(user, month)) {
+            updateDailySummary(month.atDay(1), user);
+        }
+    }
+
+    private static void checkWithinHorizon(YearMonth month) {
+        if (isBeyondHorizon(month)) {
+            throw new IllegalArgumentException("Summaries are available up to "
+                    + YearMonth.now().plusMonths(MAX_MONTHS_AHEAD) + ", not " + month);
+        }
     }
 
-    private BigDecimal getPreviousDaySavings(User user, LocalDate date) {
-        LocalDate previousDay = date.minusDays(1);
-        return userMonthlySummaryRepository.findByUserAndDate(user, previousDay)
+    private static boolean isBeyondHorizon(YearMonth month) {
+        return month.isAfter(YearMonth.now().plusMonths(MAX_MONTHS_AHEAD));
+    }
+
+    private boolean isStale(User user, YearMonth month) {
+        return userMonthlySummaryStateRepository.findByUserAndMonthStart(user, month.atDay(1))
+                .map(UserMonthlySummaryState::isStale)
+                .orElse(true);
+    }
+
+    private BigDecimal getClosingSavings(User user, LocalDate date) {
+        return userMonthlySummaryRepository.findFirstByUserAndDateLessThanEqualOrderByDateDesc(user, date)
                 .map(UserMonthlySummary::getSavings)
                 .orElse(BigDecimal.ZERO);
     }
-}
-
 
+    private record CategoryKey(String category, TransactionType transactionType) {
+    }
+}
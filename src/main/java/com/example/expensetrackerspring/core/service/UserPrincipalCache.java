@@ -0,0 +1,58 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.utils.BoundedCache;
+import com.example.expensetrackerspring.utils.BoundedCacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final BoundedCache<String, User> cache;
+
+    public UserPrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${security.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    public User get(String username) {
+        return cache.get(username);
+    }
+
+    public void put(User user) {
+        cache.put(user.getUsername(), user);
+    }
+
+    // Services that change or remove a user call this inside their transaction.
+    public void evict(User user) {
+        evictNow(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A login between the flush and the commit still reads the old row and may cache it again.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(user);
+                }
+            });
+        }
+    }
+
+    private void evictNow(User user) {
+        cache.evictIf((username, cached) ->
+                username.equals(user.getUsername()) || Objects.equals(cached.getId(), user.getId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(cache, "principals", Tags.empty()).bindTo(registry);
+    }
+}
@@ -3,8 +3,10 @@ package com.example.expensetrackerspring.rest;
 import com.example.expensetrackerspring.core.exceptions.InvalidCredentialException;
 import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
 import com.example.expensetrackerspring.core.service.AuthenticationService;
+import com.example.expensetrackerspring.rest.payload.request.RefreshTokenRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignInRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
+import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,10 +47,10 @@ public class AuthController {
     @PostMapping("/sign-in")
     public ResponseEntity<Map<String, String>> signIn(@RequestBody SignInRequest signInRequest) {
         try {
-            authenticationService.userSignIn(signInRequest);
+            SignInResponse signInResponse = authenticationService.userSignIn(signInRequest);
             logger.info("User signed in successfully");
 
-            Map<String, String> response = new HashMap<>();
+            Map<String, String> response = tokenResponse(signInResponse);
             response.put("message", "Login successful");
             return ResponseEntity.ok(response);
         } catch (UserNotFoundException e) {
@@ -56,5 +58,21 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "User not found"));
         }
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+        SignInResponse signInResponse = authenticationService.refreshTokens(refreshTokenRequest);
+        logger.info("Access token refreshed successfully");
+        return ResponseEntity.ok(tokenResponse(signInResponse));
+    }
+
+    private Map<String, String> tokenResponse(SignInResponse signInResponse) {
+        Map<String, String> response = new HashMap<>();
+        response.put("accessToken", signInResponse.accessToken());
+        response.put("refreshToken", signInResponse.refreshToken());
+        response.put("tokenType", "Bearer");
+        response.put("expiresIn", String.valueOf(signInResponse.expiresIn()));
+        return response;
+    }
 }
 
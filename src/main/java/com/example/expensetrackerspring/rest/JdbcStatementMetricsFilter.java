@@ -0,0 +1,51 @@
+package com.example.expensetrackerspring.rest;
+
+import com.example.expensetrackerspring.core.service.JdbcStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Component
+// Ahead of the security chain, so statements issued while authenticating count towards the request.
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JdbcStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final JdbcStatementCounter jdbcStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    public JdbcStatementMetricsFilter(JdbcStatementCounter jdbcStatementCounter, MeterRegistry meterRegistry) {
+        this.jdbcStatementCounter = jdbcStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long statementsBefore = jdbcStatementCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.jdbc.statements")
+                    .description("JDBC statements prepared while serving one request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry)
+                    .record(jdbcStatementCounter.current() - statementsBefore);
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.example.expensetrackerspring.rest;
 
+import com.example.expensetrackerspring.core.TransactionType;
 import com.example.expensetrackerspring.core.exceptions.TransactionNotFoundException;
 import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.TransactionExportService;
+import com.example.expensetrackerspring.core.service.TransactionImportService;
 import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.core.service.UserLedgerVersion;
 import com.example.expensetrackerspring.rest.payload.request.GetTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.request.RemoveTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import com.example.expensetrackerspring.rest.payload.response.ImportTransactionsResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionPageResponse;
 import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -23,11 +35,20 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final UserLedgerVersion userLedgerVersion;
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionImportService transactionImportService,
+                                 TransactionExportService transactionExportService,
+                                 UserLedgerVersion userLedgerVersion) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.transactionExportService = transactionExportService;
+        this.userLedgerVersion = userLedgerVersion;
     }
 
     @PostMapping
@@ -37,6 +58,55 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body("Transaction saved successfully");
     }
 
+    @GetMapping
+    public ResponseEntity<TransactionPageResponse> listTransactions(
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal User user) {
+        TransactionPageResponse page = transactionService.listTransactions(user.getId(), type, category, cursor, limit);
+        logger.info("{} transactions listed for user {}", page.items().size(), user.getUsername());
+        return ResponseEntity.ok(page);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportTransactionsResponse> importNdjson(InputStream body, @AuthenticationPrincipal User user) {
+        ImportTransactionsResponse response = transactionImportService.importNdjson(body, user.getId());
+        logger.info("{} transactions imported from NDJSON by user {}", response.imported(), user.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportTransactionsResponse> importCsv(InputStream body, @AuthenticationPrincipal User user) {
+        ImportTransactionsResponse response = transactionImportService.importCsv(body, user.getId());
+        logger.info("{} transactions imported from CSV by user {}", response.imported(), user.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal User user) {
+        Long userId = user.getId();
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Invalid format. Expected 'csv' or 'ndjson'.");
+        }
+
+        StreamingResponseBody body = output -> {
+            long exported = ndjson
+                    ? transactionExportService.exportNdjson(userId, output)
+                    : transactionExportService.exportCsv(userId, output);
+            logger.info("{} transactions exported as {} for user {}", exported, format, userId);
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (ndjson ? "ndjson" : "csv") + "\"")
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponse> getTransaction(@PathVariable Long id, @AuthenticationPrincipal User user) {
         TransactionResponse transaction = transactionService.getTransaction(new GetTransactionRequest(id, null), user.getId())
@@ -48,10 +118,18 @@ public class TransactionController {
     @GetMapping("/month/{yearMonth}")
     public ResponseEntity<List<TransactionResponse>> getTransactionsForMonth(
             @PathVariable String yearMonth,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+        String etag = userLedgerVersion.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<TransactionResponse> transactions = transactionService.getTransactionsForMonth(user.getId(), yearMonth);
         logger.info("Transactions for {} retrieved successfully by user {}", yearMonth, user.getUsername());
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(transactions);
     }
 
     @GetMapping("/day/{day}")
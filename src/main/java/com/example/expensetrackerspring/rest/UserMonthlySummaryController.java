@@ -1,15 +1,23 @@
 package com.example.expensetrackerspring.rest;
 
+import com.example.expensetrackerspring.core.SummaryBucket;
 import com.example.expensetrackerspring.core.persistance.entity.User;
-import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.core.service.UserLedgerVersion;
 import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,27 +27,75 @@ import java.util.List;
 public class UserMonthlySummaryController {
 
     private final UserMonthlySummaryService userMonthlySummaryService;
+    private final UserLedgerVersion userLedgerVersion;
 
     @Autowired
-    public UserMonthlySummaryController(UserMonthlySummaryService userMonthlySummaryService) {
+    public UserMonthlySummaryController(UserMonthlySummaryService userMonthlySummaryService,
+                                        UserLedgerVersion userLedgerVersion) {
         this.userMonthlySummaryService = userMonthlySummaryService;
+        this.userLedgerVersion = userLedgerVersion;
     }
 
     @GetMapping("/day/{date}")
-    public ResponseEntity<UserMonthlySummary> getSummaryForDay(
+    public ResponseEntity<DailySummaryResponse> getSummaryForDay(
             @PathVariable String date,
             @AuthenticationPrincipal User user) {
         LocalDate parsedDate = LocalDate.parse(date);
-        UserMonthlySummary summary = userMonthlySummaryService.getSummaryForDay(parsedDate, user);
+        DailySummaryResponse summary = userMonthlySummaryService.getSummaryForDay(parsedDate, user);
         return ResponseEntity.ok(summary);
     }
 
     @GetMapping("/month/{yearMonth}")
-    public ResponseEntity<List<UserMonthlySummary>> getSummaryForMonth(
+    public ResponseEntity<List<DailySummaryResponse>> getSummaryForMonth(
             @PathVariable String yearMonth,
-            @AuthenticationPrincipal User user) {
-        List<UserMonthlySummary> summaries = userMonthlySummaryService.getSummaryForMonth(user, yearMonth);
-        return ResponseEntity.ok(summaries);
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+        String etag = userLedgerVersion.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<DailySummaryResponse> summaries = userMonthlySummaryService.getSummaryForMonth(user, yearMonth);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(summaries);
     }
-}
 
+    @GetMapping("/categories/{yearMonth}")
+    public ResponseEntity<List<CategoryTotalResponse>> getCategoryTotals(
+            @PathVariable String yearMonth,
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+        String etag = userLedgerVersion.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<CategoryTotalResponse> totals = userMonthlySummaryService.getCategoryTotals(user, yearMonth);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(totals);
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<List<SummaryRollupResponse>> getRollup(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "month") String bucket,
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+        LocalDate parsedFrom = LocalDate.parse(from);
+        LocalDate parsedTo = LocalDate.parse(to);
+        SummaryBucket parsedBucket = SummaryBucket.fromString(bucket);
+
+        String etag = userLedgerVersion.etag(user.getId());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<SummaryRollupResponse> rollup = userMonthlySummaryService.getRollup(user, parsedFrom, parsedTo, parsedBucket);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(rollup);
+    }
+}
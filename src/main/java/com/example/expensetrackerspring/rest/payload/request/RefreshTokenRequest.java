@@ -0,0 +1,4 @@
+package com.example.expensetrackerspring.rest.payload.request;
+
+public record RefreshTokenRequest(String refreshToken) {
+}
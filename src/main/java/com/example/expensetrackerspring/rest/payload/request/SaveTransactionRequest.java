@@ -15,6 +15,18 @@ public record SaveTransactionRequest(
         LocalDate startDate,
         LocalDate endDate,
         RecurrenceFrequency recurrenceFrequency,
-        TransactionType transactionType
+        TransactionType transactionType,
+        Boolean ruleBased
 ) {
+    public SaveTransactionRequest(Long id,
+                                  String name,
+                                  String description,
+                                  BigDecimal amount,
+                                  String category,
+                                  LocalDate startDate,
+                                  LocalDate endDate,
+                                  RecurrenceFrequency recurrenceFrequency,
+                                  TransactionType transactionType) {
+        this(id, name, description, amount, category, startDate, endDate, recurrenceFrequency, transactionType, null);
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.expensetrackerspring.rest.payload.response;
+
+import com.example.expensetrackerspring.core.TransactionType;
+
+import java.math.BigDecimal;
+
+public record CategoryTotalResponse(
+        String category,
+        TransactionType transactionType,
+        BigDecimal total,
+        long count
+) {
+}
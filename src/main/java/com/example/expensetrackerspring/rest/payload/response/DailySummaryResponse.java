@@ -0,0 +1,12 @@
+package com.example.expensetrackerspring.rest.payload.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailySummaryResponse(
+        LocalDate date,
+        BigDecimal income,
+        BigDecimal expenses,
+        BigDecimal savings
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.expensetrackerspring.rest.payload.response;
+
+public record ImportTransactionsResponse(
+        boolean successful,
+        String message,
+        long imported
+) {
+}
@@ -1,4 +1,13 @@
 package com.example.expensetrackerspring.rest.payload.response;
 
-public record SignInResponse(boolean success, String message) {
+public record SignInResponse(
+        boolean success,
+        String message,
+        String accessToken,
+        String refreshToken,
+        long expiresIn
+) {
+    public SignInResponse(boolean success, String message) {
+        this(success, message, null, null, 0);
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.expensetrackerspring.rest.payload.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record SummaryRollupResponse(
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        BigDecimal income,
+        BigDecimal expenses,
+        BigDecimal closingSavings
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.expensetrackerspring.rest.payload.response;
+
+import java.util.List;
+
+public record TransactionPageResponse(
+        List<TransactionResponse> items,
+        String nextCursor
+) {
+}
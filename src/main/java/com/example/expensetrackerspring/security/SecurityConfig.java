@@ -2,6 +2,7 @@ package com.example.expensetrackerspring.security;
 
 import com.example.expensetrackerspring.core.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -17,6 +18,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 import java.util.Arrays;
 
@@ -26,11 +28,18 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
+    private final boolean basicAuthEnabled;
 
     @Autowired
-    public SecurityConfig(CustomUserDetailsService userDetailsService, @Lazy PasswordEncoder passwordEncoder) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService,
+                          @Lazy PasswordEncoder passwordEncoder,
+                          TokenService tokenService,
+                          @Value("${security.basic-auth.enabled:true}") boolean basicAuthEnabled) {
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
+        this.tokenService = tokenService;
+        this.basicAuthEnabled = basicAuthEnabled;
     }
 
     @Bean
@@ -45,10 +54,18 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .anyRequest().authenticated())
-                .httpBasic(httpBasic -> httpBasic
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
                         .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .userDetailsService(userDetailsService)
                 .authenticationManager(authenticationManagerBean());
+
+        if (basicAuthEnabled) {
+            http.httpBasic(httpBasic -> httpBasic
+                    .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+        } else {
+            http.httpBasic(AbstractHttpConfigurer::disable);
+        }
         return http.build();
     }
 
@@ -0,0 +1,6 @@
+package com.example.expensetrackerspring.security;
+
+import java.time.Instant;
+
+public record TokenClaims(TokenType type, Long userId, String username, Instant expiresAt) {
+}
@@ -0,0 +1,119 @@
+package com.example.expensetrackerspring.security;
+
+import com.example.expensetrackerspring.core.exceptions.InvalidTokenException;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private final SecretKeySpec signingKey;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.access-ttl:PT15M}") Duration accessTokenTtl,
+                        @Value("${security.token.refresh-ttl:P7D}") Duration refreshTokenTtl) {
+        this.signingKey = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public SignInResponse issueTokens(User user) {
+        return new SignInResponse(
+                true,
+                "Successfully logged in",
+                issue(TokenType.ACCESS, user, accessTokenTtl),
+                issue(TokenType.REFRESH, user, refreshTokenTtl),
+                accessTokenTtl.toSeconds()
+        );
+    }
+
+    public TokenClaims parse(String token, TokenType expectedType) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        String payload = token.substring(0, separator);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+
+        String[] parts = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8).split(":", 4);
+        if (parts.length != 4) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(
+                    TokenType.valueOf(parts[0]),
+                    Long.parseLong(parts[1]),
+                    parts[3],
+                    Instant.ofEpochSecond(Long.parseLong(parts[2]))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        if (claims.type() != expectedType) {
+            throw new InvalidTokenException("Unexpected token type");
+        }
+        if (!claims.expiresAt().isAfter(Instant.now())) {
+            throw new InvalidTokenException("Token expired");
+        }
+        return claims;
+    }
+
+    private String issue(TokenType type, User user, Duration ttl) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        String claims = type.name() + ":" + user.getId() + ":" + expiresAt + ":" + user.getUsername();
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload));
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        logger.warn("security.token.secret is not set, using a random key; tokens will not survive a restart");
+        byte[] randomSecret = new byte[32];
+        new SecureRandom().nextBytes(randomSecret);
+        return randomSecret;
+    }
+}
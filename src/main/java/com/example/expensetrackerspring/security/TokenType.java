@@ -0,0 +1,6 @@
+package com.example.expensetrackerspring.security;
+
+public enum TokenType {
+    ACCESS,
+    REFRESH
+}
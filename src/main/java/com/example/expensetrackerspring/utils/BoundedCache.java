@@ -0,0 +1,177 @@
+package com.example.expensetrackerspring.utils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final Function<? super K, ?> grouping;
+    private final Map<Object, Set<K>> groups = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    public BoundedCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this(maxSize, ttl, ticker, null);
+    }
+
+    // Keys are also indexed by their group, so evictGroupIf can visit one group without walking the whole cache.
+    public BoundedCache(int maxSize, Duration ttl, Function<? super K, ?> grouping) {
+        this(maxSize, ttl, System::nanoTime, grouping);
+    }
+
+    public BoundedCache(int maxSize, Duration ttl, LongSupplier ticker, Function<? super K, ?> grouping) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.grouping = grouping;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(ticker.getAsLong())) {
+            entries.remove(key);
+            unindex(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+        index(key);
+        puts.increment();
+
+        Iterator<K> eldest = entries.keySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            K evicted = eldest.next();
+            eldest.remove();
+            unindex(evicted);
+            evictions.increment();
+        }
+    }
+
+    public synchronized void evict(K key) {
+        if (entries.remove(key) != null) {
+            unindex(key);
+            evictions.increment();
+        }
+    }
+
+    public synchronized void evictGroupIf(Object group, Predicate<K> predicate) {
+        if (grouping == null) {
+            throw new IllegalStateException("Cache is not grouped");
+        }
+        Set<K> keys = groups.get(group);
+        if (keys == null) {
+            return;
+        }
+        for (K key : List.copyOf(keys)) {
+            if (predicate.test(key)) {
+                evict(key);
+            }
+        }
+    }
+
+    public synchronized void evictIf(BiPredicate<K, V> predicate) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value())) {
+                iterator.remove();
+                unindex(entry.getKey());
+                evictions.increment();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        evictions.add(entries.size());
+        entries.clear();
+        groups.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long sumOf(ToLongFunction<V> weigher) {
+        long total = 0;
+        for (Entry<V> entry : entries.values()) {
+            total += weigher.applyAsLong(entry.value());
+        }
+        return total;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void index(K key) {
+        if (grouping != null) {
+            groups.computeIfAbsent(grouping.apply(key), group -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(K key) {
+        if (grouping == null) {
+            return;
+        }
+        Object group = grouping.apply(key);
+        Set<K> keys = groups.get(group);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            groups.remove(group);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
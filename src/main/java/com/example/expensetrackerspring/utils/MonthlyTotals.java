@@ -0,0 +1,61 @@
+package com.example.expensetrackerspring.utils;
+
+import com.example.expensetrackerspring.core.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+public class MonthlyTotals {
+
+    private static final int MINOR_UNITS = 2;
+
+    private final YearMonth month;
+    private final long[] incomeCents;
+    private final long[] expenseCents;
+
+    public MonthlyTotals(YearMonth month) {
+        this.month = month;
+        this.incomeCents = new long[month.lengthOfMonth()];
+        this.expenseCents = new long[month.lengthOfMonth()];
+    }
+
+    public void add(LocalDate day, TransactionType type, BigDecimal amount) {
+        add(day, type, toCents(amount));
+    }
+
+    public void add(LocalDate day, TransactionType type, long cents) {
+        if (!YearMonth.from(day).equals(month)) {
+            throw new IllegalArgumentException(day + " is outside of " + month);
+        }
+        long[] totals = type == TransactionType.INCOME ? incomeCents : expenseCents;
+        int index = day.getDayOfMonth() - 1;
+        try {
+            totals[index] = Math.addExact(totals[index], cents);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Daily " + type + " total for " + day + " overflows");
+        }
+    }
+
+    public long incomeCents(int dayOfMonth) {
+        return incomeCents[dayOfMonth - 1];
+    }
+
+    public long expenseCents(int dayOfMonth) {
+        return expenseCents[dayOfMonth - 1];
+    }
+
+    public long netCents(int dayOfMonth) {
+        return Math.subtractExact(incomeCents[dayOfMonth - 1], expenseCents[dayOfMonth - 1]);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        // Columns hold two decimals, so finer request values round the way the database would store them.
+        return amount.movePointRight(MINOR_UNITS).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, MINOR_UNITS);
+    }
+}
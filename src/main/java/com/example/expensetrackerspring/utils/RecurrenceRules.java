@@ -0,0 +1,55 @@
+package com.example.expensetrackerspring.utils;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecurrenceRules {
+
+    private RecurrenceRules() {
+    }
+
+    public static List<LocalDate> occurrencesBetween(LocalDate ruleStart,
+                                                     LocalDate ruleEnd,
+                                                     RecurrenceFrequency frequency,
+                                                     LocalDate from,
+                                                     LocalDate to) {
+        List<LocalDate> occurrences = new ArrayList<>();
+        LocalDate last = ruleEnd != null && ruleEnd.isBefore(to) ? ruleEnd : to;
+
+        if (frequency == RecurrenceFrequency.SINGLE) {
+            if (!ruleStart.isBefore(from) && !ruleStart.isAfter(last)) {
+                occurrences.add(ruleStart);
+            }
+            return occurrences;
+        }
+
+        ChronoUnit unit = unitOf(frequency);
+
+        // Jump straight to the window instead of walking every occurrence since the rule started.
+        long index = from.isAfter(ruleStart) ? Math.max(0, unit.between(ruleStart, from) - 1) : 0;
+        LocalDate occurrence = ruleStart.plus(index, unit);
+        while (occurrence.isBefore(from)) {
+            occurrence = ruleStart.plus(++index, unit);
+        }
+
+        while (!occurrence.isAfter(last)) {
+            occurrences.add(occurrence);
+            occurrence = ruleStart.plus(++index, unit);
+        }
+        return occurrences;
+    }
+
+    private static ChronoUnit unitOf(RecurrenceFrequency frequency) {
+        return switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+            case YEARLY -> ChronoUnit.YEARS;
+            default -> throw new IllegalArgumentException("Unknown frequency: " + frequency);
+        };
+    }
+}
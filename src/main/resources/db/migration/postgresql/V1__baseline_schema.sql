@@ -0,0 +1,55 @@
+-- Schema as previously generated by Hibernate. Every statement is idempotent so the same script
+-- creates a fresh database and adopts one that ddl-auto=update has already built.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    balance    NUMERIC(38, 2)
+);
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                   BIGINT PRIMARY KEY,
+    name                 VARCHAR(255) NOT NULL,
+    description          VARCHAR(255),
+    category             VARCHAR(255) NOT NULL,
+    amount               NUMERIC(38, 2) NOT NULL,
+    start_date           DATE NOT NULL,
+    end_date             DATE,
+    recurrence_frequency VARCHAR(255) NOT NULL,
+    transaction_type     VARCHAR(255) NOT NULL,
+    series_id            VARCHAR(36),
+    rule_based           BOOLEAN NOT NULL DEFAULT FALSE,
+    user_id              BIGINT NOT NULL REFERENCES users (id)
+);
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS series_id VARCHAR(36);
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS rule_based BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Ids used to come from an identity column; move the pooled sequence past them.
+SELECT setval('transactions_seq', MAX(id)) FROM transactions HAVING MAX(id) IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS user_monthly_summary (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT NOT NULL REFERENCES users (id),
+    date       DATE NOT NULL,
+    income     NUMERIC(10, 2) NOT NULL,
+    expenses   NUMERIC(10, 2) NOT NULL,
+    savings    NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_monthly_summary_state (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT NOT NULL REFERENCES users (id),
+    month_start      DATE NOT NULL,
+    data_version     BIGINT NOT NULL,
+    computed_version BIGINT NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_user_monthly_summary_state_user_month UNIQUE (user_id, month_start)
+);
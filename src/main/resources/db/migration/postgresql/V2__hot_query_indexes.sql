@@ -0,0 +1,26 @@
+-- Indexes Hibernate used to create under these names are replaced by the definitions below.
+DROP INDEX IF EXISTS idx_transactions_user_series;
+DROP INDEX IF EXISTS idx_transactions_user_start_date_id;
+
+-- Day, month and keyset reads all seek on (user_id, start_date[, id]); the included columns let
+-- aggregate reads over a date range be answered from the index alone.
+CREATE INDEX idx_transactions_user_start_date_id
+    ON transactions (user_id, start_date, id) INCLUDE (transaction_type, amount);
+
+CREATE INDEX idx_transactions_user_series
+    ON transactions (user_id, series_id) WHERE series_id IS NOT NULL;
+
+CREATE INDEX idx_transactions_user_rules
+    ON transactions (user_id, start_date) WHERE rule_based;
+
+-- Earlier code paths could insert the same (user, day) twice; keep the newest row before enforcing uniqueness.
+DELETE FROM user_monthly_summary s
+USING user_monthly_summary newer
+WHERE s.user_id = newer.user_id
+  AND s.date = newer.date
+  AND s.id < newer.id;
+
+ALTER TABLE user_monthly_summary
+    ADD CONSTRAINT uk_user_monthly_summary_user_date UNIQUE (user_id, date);
+
+CREATE UNIQUE INDEX uk_users_username ON users (username);
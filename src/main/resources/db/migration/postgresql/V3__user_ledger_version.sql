@@ -0,0 +1,2 @@
+-- Bumped by every transaction mutation; conditional GETs compare it instead of reading ledger tables.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS ledger_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,28 @@
+-- Categories were free text on every transaction row; breakdowns now group on a small dictionary id.
+-- Names are stored trimmed, with inner whitespace collapsed and upper-cased, matching TransactionCategories.
+CREATE TABLE transaction_categories (
+    id   INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_transaction_categories_name UNIQUE (name)
+);
+
+INSERT INTO transaction_categories (name)
+VALUES ('HOME'), ('BILLS'), ('ENTERTAINMENT'), ('FOOD'), ('CAR'), ('OTHER'),
+       ('WAGES'), ('BONUSES'), ('FREELANCE'), ('SELLINGS');
+
+INSERT INTO transaction_categories (name)
+SELECT DISTINCT upper(regexp_replace(btrim(category), '\s+', ' ', 'g'))
+FROM transactions
+ON CONFLICT (name) DO NOTHING;
+
+ALTER TABLE transactions ADD COLUMN category_id INT REFERENCES transaction_categories (id);
+
+UPDATE transactions t
+SET category_id = c.id
+FROM transaction_categories c
+WHERE c.name = upper(regexp_replace(btrim(t.category), '\s+', ' ', 'g'));
+
+ALTER TABLE transactions ALTER COLUMN category_id SET NOT NULL;
+
+CREATE INDEX idx_transactions_user_category_start_date
+    ON transactions (user_id, category_id, start_date) INCLUDE (transaction_type, amount);
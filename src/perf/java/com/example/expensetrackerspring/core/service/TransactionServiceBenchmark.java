@@ -0,0 +1,85 @@
+package com.example.expensetrackerspring.core.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package to reach the package-private helpers without going through a database.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Recurrence {
+
+        @Param({"DAILY", "WEEKLY", "MONTHLY", "YEARLY"})
+        private RecurrenceFrequency frequency;
+
+        private TransactionServiceImpl service;
+        private Transaction transaction;
+
+        @Setup
+        public void setUp() {
+            service = serviceWithoutDependencies();
+            transaction = transaction(frequency);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Conversion {
+
+        private TransactionServiceImpl service;
+        private Transaction transaction;
+
+        @Setup
+        public void setUp() {
+            service = serviceWithoutDependencies();
+            transaction = transaction(RecurrenceFrequency.SINGLE);
+        }
+    }
+
+    @Benchmark
+    public List<LocalDate> calculateAffectedDates(Recurrence recurrence) {
+        return recurrence.service.calculateAffectedDates(recurrence.transaction);
+    }
+
+    @Benchmark
+    public LocalDate getNextOccurrenceDate(Recurrence recurrence) {
+        return recurrence.service.getNextOccurrenceDate(recurrence.transaction.getStartDate(), recurrence.frequency);
+    }
+
+    @Benchmark
+    public TransactionResponse convertTransactionToDto(Conversion conversion) {
+        return conversion.service.convertTransactionToDto(conversion.transaction);
+    }
+
+    private static TransactionServiceImpl serviceWithoutDependencies() {
+        // None of the measured helpers touch a repository or collaborator.
+        return new TransactionServiceImpl(null, null, null, null, null, null, null, null);
+    }
+
+    private static Transaction transaction(RecurrenceFrequency frequency) {
+        return Transaction.builder()
+                .id(1L)
+                .name("Groceries")
+                .description("Weekly shop")
+                .amount(new BigDecimal("54.20"))
+                .category("FOOD")
+                .categoryId(4)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .recurrenceFrequency(frequency)
+                .transactionType(TransactionType.EXPENSE)
+                .build();
+    }
+}
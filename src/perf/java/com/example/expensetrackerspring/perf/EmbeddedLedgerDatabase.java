@@ -0,0 +1,47 @@
+package com.example.expensetrackerspring.perf;
+
+import com.example.expensetrackerspring.ExpenseTrackerSpringApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class EmbeddedLedgerDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedLedgerDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static EmbeddedLedgerDatabase start() throws IOException {
+        return new EmbeddedLedgerDatabase(EmbeddedPostgres.builder().start());
+    }
+
+    public Map<String, Object> springProperties() {
+        return Map.of(
+                "spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username", "postgres",
+                "spring.datasource.password", "postgres");
+    }
+
+    public ConfigurableApplicationContext startApplication(String... properties) {
+        // Passed as arguments, since application.properties would win over default properties.
+        List<String> args = new ArrayList<>();
+        springProperties().forEach((key, value) -> args.add("--" + key + "=" + value));
+        Arrays.stream(properties).map(property -> "--" + property).forEach(args::add);
+
+        // The real migrations and native SQL run against a real Postgres, only without a server to manage.
+        return new SpringApplicationBuilder(ExpenseTrackerSpringApplication.class).run(args.toArray(String[]::new));
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.expensetrackerspring.perf;
+
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 6);
+
+    // Same settings the web layer gets from Spring Boot's Jackson auto-configuration.
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @State(Scope.Benchmark)
+    public static class MonthTransactions {
+
+        @Param({"30", "300"})
+        private int transactionsPerMonth;
+
+        private List<TransactionResponse> rows;
+
+        @Setup
+        public void setUp() {
+            rows = new ArrayList<>(transactionsPerMonth);
+            for (int i = 0; i < transactionsPerMonth; i++) {
+                LocalDate day = MONTH.atDay(1 + i % MONTH.lengthOfMonth());
+                rows.add(new TransactionResponse((long) i, "Groceries " + i, "Weekly shop",
+                        BigDecimal.valueOf(1000 + i, 2), "FOOD", day, day,
+                        i % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MonthSummaries {
+
+        private List<DailySummaryResponse> rows;
+
+        @Setup
+        public void setUp() {
+            rows = new ArrayList<>(MONTH.lengthOfMonth());
+            for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+                rows.add(new DailySummaryResponse(MONTH.atDay(day), new BigDecimal("120.00"),
+                        new BigDecimal("45.50"), BigDecimal.valueOf(100_000 + day * 7_450L, 2)));
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] monthTransactions(MonthTransactions month) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(month.rows);
+    }
+
+    @Benchmark
+    public byte[] monthSummaries(MonthSummaries month) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(month.rows);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.expensetrackerspring.perf;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public void start() {
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+    }
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, ignored -> new Samples()).add(latencyNanos, success);
+        }
+    }
+
+    public List<EndpointStats> snapshot(Duration measured) {
+        List<EndpointStats> stats = new ArrayList<>();
+        samples.forEach((endpoint, endpointSamples) -> stats.add(endpointSamples.stats(endpoint, measured)));
+        stats.sort((left, right) -> left.endpoint().compareTo(right.endpoint()));
+        return stats;
+    }
+
+    public record EndpointStats(String endpoint, int requests, int errors, double throughputPerSecond,
+                                double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(String endpoint, Duration measured) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            double seconds = measured.toNanos() / 1e9;
+            return new EndpointStats(endpoint, size, errors, size / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(size == 0 ? 0 : sorted[size - 1]));
+        }
+
+        // Nearest-rank, so a reported p99 is a latency some request actually saw.
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.expensetrackerspring.perf;
+
+import com.example.expensetrackerspring.core.ExpenseCategory;
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.AuthenticationService;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LedgerDataGenerator {
+
+    public static final String PASSWORD = "password1";
+
+    private static final ExpenseCategory[] SPENDING = {
+            ExpenseCategory.FOOD, ExpenseCategory.FOOD, ExpenseCategory.FOOD,
+            ExpenseCategory.ENTERTAINMENT, ExpenseCategory.CAR, ExpenseCategory.HOME, ExpenseCategory.OTHER
+    };
+
+    private final AuthenticationService authenticationService;
+    private final UserRepository userRepository;
+    private final TransactionService transactionService;
+    private final Random random;
+
+    public LedgerDataGenerator(AuthenticationService authenticationService, UserRepository userRepository,
+                               TransactionService transactionService, long seed) {
+        this.authenticationService = authenticationService;
+        this.userRepository = userRepository;
+        this.transactionService = transactionService;
+        this.random = new Random(seed);
+    }
+
+    public List<String> seed(int users, YearMonth from, YearMonth to, int singlesPerMonth) {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = "loaduser" + i;
+            // Through the sign-up path, so sign-in checks a real password hash.
+            authenticationService.userSignUp(new SignUpRequest(username, "Load", username + "@example.com", PASSWORD));
+            User user = userRepository.findByUsername(username).orElseThrow();
+            seedLedger(user.getId(), from, to, singlesPerMonth);
+            usernames.add(username);
+        }
+        return usernames;
+    }
+
+    private void seedLedger(Long userId, YearMonth from, YearMonth to, int singlesPerMonth) {
+        BigDecimal salary = cents(180_000 + random.nextInt(250_000));
+        save(userId, "Salary", salary, "WAGES", from, to, 25, RecurrenceFrequency.MONTHLY, TransactionType.INCOME, true);
+        save(userId, "Rent", salary.multiply(new BigDecimal("0.35")).setScale(2, RoundingMode.HALF_UP),
+                "HOME", from, null, 1, RecurrenceFrequency.MONTHLY, TransactionType.EXPENSE, true);
+        save(userId, "Phone", cents(1_500 + random.nextInt(3_000)), "BILLS", from, null, 12,
+                RecurrenceFrequency.MONTHLY, TransactionType.EXPENSE, true);
+        // Materialized series, the other way recurring items end up stored.
+        save(userId, "Groceries", cents(4_000 + random.nextInt(6_000)), "FOOD", from, to, 1 + random.nextInt(7),
+                RecurrenceFrequency.WEEKLY, TransactionType.EXPENSE, false);
+
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            for (int i = 0; i < singlesPerMonth; i++) {
+                ExpenseCategory category = SPENDING[random.nextInt(SPENDING.length)];
+                save(userId, category.name().charAt(0) + category.name().substring(1).toLowerCase() + " " + i,
+                        cents(200 + random.nextInt(random.nextInt(10) == 0 ? 40_000 : 6_000)), category.name(),
+                        month, null, 1 + random.nextInt(month.lengthOfMonth()),
+                        RecurrenceFrequency.SINGLE, TransactionType.EXPENSE, false);
+            }
+            if (random.nextInt(4) == 0) {
+                save(userId, "Freelance", cents(10_000 + random.nextInt(90_000)), "FREELANCE", month, null,
+                        1 + random.nextInt(month.lengthOfMonth()), RecurrenceFrequency.SINGLE,
+                        TransactionType.INCOME, false);
+            }
+        }
+    }
+
+    private void save(Long userId, String name, BigDecimal amount, String category, YearMonth start, YearMonth end,
+                      int day, RecurrenceFrequency frequency, TransactionType type, boolean ruleBased) {
+        transactionService.saveTransaction(new SaveTransactionRequest(null, name, null, amount, category,
+                start.atDay(Math.min(day, start.lengthOfMonth())), end == null ? null : end.atEndOfMonth(),
+                frequency, type, ruleBased), userId);
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
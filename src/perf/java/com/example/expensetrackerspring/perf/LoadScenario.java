@@ -0,0 +1,150 @@
+package com.example.expensetrackerspring.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+// One virtual user's session: sign in, then repeatedly browse a month and create, edit and delete a series in it.
+public class LoadScenario {
+
+    static final String SIGN_IN = "POST /api/v1/auth/sign-in";
+    static final String MONTH_LIST = "GET /api/v1/transaction/month/{yearMonth}";
+    static final String MONTH_SUMMARY = "GET /api/v1/summary/month/{yearMonth}";
+    static final String CREATE = "POST /api/v1/transaction";
+    static final String UPDATE = "PUT /api/v1/transaction/{id}";
+    static final String DELETE_ALL = "DELETE /api/v1/transaction/{id}?deleteType=ALL";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+    private final List<YearMonth> months;
+    private final Random random;
+
+    public LoadScenario(HttpClient httpClient, URI baseUri, LatencyRecorder recorder, List<YearMonth> months,
+                        long seed) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+        this.months = months;
+        this.random = new Random(seed);
+    }
+
+    public void run(String username, int actions) throws IOException, InterruptedException {
+        JsonNode signIn = send(SIGN_IN, null, post("/api/v1/auth/sign-in",
+                Map.of("username", username, "password", LedgerDataGenerator.PASSWORD)));
+        if (signIn == null) {
+            return;
+        }
+        String token = signIn.get("accessToken").asText();
+
+        for (int i = 0; i < actions; i++) {
+            act(token, months.get(random.nextInt(months.size())));
+        }
+    }
+
+    private void act(String token, YearMonth month) throws IOException, InterruptedException {
+        send(MONTH_LIST, token, get("/api/v1/transaction/month/" + month));
+        send(MONTH_SUMMARY, token, get("/api/v1/summary/month/" + month));
+
+        String name = "Load " + UUID.randomUUID().toString().substring(0, 8);
+        Map<String, Object> transaction = transaction(name, month, BigDecimal.valueOf(500 + random.nextInt(5_000), 2));
+        if (send(CREATE, token, post("/api/v1/transaction", transaction)) == null) {
+            return;
+        }
+
+        // Creating returns no id; a client finds the row the same way, by listing the month again.
+        JsonNode listed = send(MONTH_LIST, token, get("/api/v1/transaction/month/" + month));
+        Long id = findId(listed, name);
+        if (id == null) {
+            return;
+        }
+
+        transaction.put("amount", BigDecimal.valueOf(500 + random.nextInt(5_000), 2));
+        send(UPDATE, token, put("/api/v1/transaction/" + id, transaction));
+        send(DELETE_ALL, token, HttpRequest.newBuilder(baseUri.resolve("/api/v1/transaction/" + id + "?deleteType=ALL"))
+                .DELETE());
+    }
+
+    private JsonNode send(String endpoint, String token, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+        long latency = System.nanoTime() - start;
+
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, latency, success);
+        if (!success) {
+            return null;
+        }
+        byte[] body = response.body();
+        if (body.length == 0 || body[0] != '{' && body[0] != '[') {
+            return OBJECT_MAPPER.nullNode();
+        }
+        return OBJECT_MAPPER.readTree(body);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder put(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)));
+    }
+
+    private static Map<String, Object> transaction(String name, YearMonth month, BigDecimal amount) {
+        Map<String, Object> transaction = new LinkedHashMap<>();
+        transaction.put("name", name);
+        transaction.put("amount", amount);
+        transaction.put("category", "ENTERTAINMENT");
+        transaction.put("startDate", month.atDay(1).toString());
+        transaction.put("endDate", month.atEndOfMonth().toString());
+        transaction.put("recurrenceFrequency", "WEEKLY");
+        transaction.put("transactionType", "EXPENSE");
+        return transaction;
+    }
+
+    private static Long findId(JsonNode transactions, String name) {
+        if (transactions == null) {
+            return null;
+        }
+        for (JsonNode transaction : transactions) {
+            if (name.equals(transaction.path("name").asText())) {
+                return transaction.get("id").asLong();
+            }
+        }
+        return null;
+    }
+}
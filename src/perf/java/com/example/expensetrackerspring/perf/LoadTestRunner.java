@@ -0,0 +1,172 @@
+package com.example.expensetrackerspring.perf;
+
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.AuthenticationService;
+import com.example.expensetrackerspring.core.service.SummaryRecomputeQueue;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.perf.LatencyRecorder.EndpointStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// mvn -Ploadtest verify -Dloadtest.args="users=50 concurrency=16 duration=PT1M"
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        YearMonth to = YearMonth.now();
+        YearMonth from = to.minusMonths(options.months() - 1L);
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+
+        try (EmbeddedLedgerDatabase database = EmbeddedLedgerDatabase.start();
+             ConfigurableApplicationContext context = database.startApplication(
+                     "server.port=0",
+                     "logging.level.com.example.expensetrackerspring=WARN")) {
+            System.out.printf("Seeding %d users with %d months of history%n", options.users(), options.months());
+            List<String> usernames = new LedgerDataGenerator(context.getBean(AuthenticationService.class),
+                    context.getBean(UserRepository.class), context.getBean(TransactionService.class), options.seed())
+                    .seed(options.users(), from, to, options.singlesPerMonth());
+            awaitSummaryQueue(context.getBean(SummaryRecomputeQueue.class));
+
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            LatencyRecorder recorder = new LatencyRecorder();
+            Duration measured = drive(options, baseUri, usernames, months, recorder);
+
+            List<EndpointStats> stats = recorder.snapshot(measured);
+            print(stats, measured);
+            writeReport(options, stats, measured);
+        }
+    }
+
+    private static Duration drive(Options options, URI baseUri, List<String> usernames, List<YearMonth> months,
+                                  LatencyRecorder recorder) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        AtomicInteger failedSessions = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            LoadScenario scenario = new LoadScenario(httpClient, baseUri, recorder, months, options.seed() + i);
+            int first = i;
+            executor.submit(() -> {
+                // Each virtual user walks its own slice of the accounts, so writes rarely contend on one ledger.
+                for (int session = first; System.nanoTime() < end; session += options.concurrency()) {
+                    try {
+                        scenario.run(usernames.get(session % usernames.size()), options.actionsPerSession());
+                    } catch (IOException e) {
+                        failedSessions.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+
+        TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+        recorder.start();
+        long measuredStart = System.nanoTime();
+        TimeUnit.NANOSECONDS.sleep(end - measuredStart);
+        // Sessions still running past the window finish unrecorded, so throughput is over the window alone.
+        recorder.stop();
+        long measuredEnd = System.nanoTime();
+        executor.shutdown();
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        if (failedSessions.get() > 0) {
+            System.out.printf("%d sessions aborted on I/O errors%n", failedSessions.get());
+        }
+        return Duration.ofNanos(measuredEnd - measuredStart);
+    }
+
+    private static void awaitSummaryQueue(SummaryRecomputeQueue queue) throws InterruptedException {
+        // Seeding leaves recomputes queued; measuring while they drain would charge their cost to the scenario.
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (queue.depth() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static void print(List<EndpointStats> stats, Duration measured) {
+        System.out.printf("%nMeasured %.1fs%n", measured.toNanos() / 1e9);
+        System.out.printf("%-48s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats endpoint : stats) {
+            System.out.printf("%-48s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.errors(), endpoint.throughputPerSecond(),
+                    endpoint.p50Millis(), endpoint.p95Millis(), endpoint.p99Millis(), endpoint.maxMillis());
+        }
+    }
+
+    private static void writeReport(Options options, List<EndpointStats> stats, Duration measured) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("measuredSeconds", measured.toNanos() / 1e9);
+        report.put("endpoints", stats);
+
+        Path path = Path.of(options.report());
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), report);
+        System.out.printf("Report written to %s%n", path);
+    }
+
+    record Options(int users, int concurrency, int months, int singlesPerMonth, int actionsPerSession,
+                   Duration warmup, Duration duration, long seed, String report) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Expected key=value but got " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+
+            Options options = new Options(
+                    Integer.parseInt(values.getOrDefault("users", "20")),
+                    Integer.parseInt(values.getOrDefault("concurrency", "8")),
+                    Integer.parseInt(values.getOrDefault("months", "12")),
+                    Integer.parseInt(values.getOrDefault("singlesPerMonth", "40")),
+                    Integer.parseInt(values.getOrDefault("actionsPerSession", "5")),
+                    Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                    Duration.parse(values.getOrDefault("duration", "PT30S")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    values.getOrDefault("report", "target/loadtest-report.json"));
+            if (options.users() < 1 || options.concurrency() < 1 || options.months() < 1
+                    || options.actionsPerSession() < 1) {
+                throw new IllegalArgumentException("users, concurrency, months and actionsPerSession must be positive");
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.expensetrackerspring.perf;
+
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.utils.MonthlyTotals;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryAggregationBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 6);
+
+    @Param({"100", "1000", "10000"})
+    private int transactions;
+
+    private List<Transaction> rows;
+    private BigDecimal openingSavings;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            rows.add(Transaction.builder()
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(100_000), 2))
+                    .startDate(MONTH.atDay(1 + random.nextInt(MONTH.lengthOfMonth())))
+                    .transactionType(random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .build());
+        }
+        openingSavings = new BigDecimal("1234.56");
+    }
+
+    // The aggregation as it was before the long-cents engine: one BigDecimal per addition.
+    @Benchmark
+    public void bigDecimalMaps(Blackhole blackhole) {
+        Map<LocalDate, BigDecimal> incomeByDay = new HashMap<>();
+        Map<LocalDate, BigDecimal> expensesByDay = new HashMap<>();
+        for (Transaction transaction : rows) {
+            Map<LocalDate, BigDecimal> totals = transaction.getTransactionType() == TransactionType.INCOME
+                    ? incomeByDay
+                    : expensesByDay;
+            totals.merge(transaction.getStartDate(), transaction.getAmount(), BigDecimal::add);
+        }
+
+        BigDecimal savings = openingSavings;
+        for (LocalDate day = MONTH.atDay(1); !day.isAfter(MONTH.atEndOfMonth()); day = day.plusDays(1)) {
+            BigDecimal income = incomeByDay.getOrDefault(day, BigDecimal.ZERO);
+            BigDecimal expenses = expensesByDay.getOrDefault(day, BigDecimal.ZERO);
+            savings = savings.add(income).subtract(expenses);
+            blackhole.consume(income);
+            blackhole.consume(expenses);
+            blackhole.consume(savings);
+        }
+    }
+
+    @Benchmark
+    public void longCents(Blackhole blackhole) {
+        MonthlyTotals totals = new MonthlyTotals(MONTH);
+        for (Transaction transaction : rows) {
+            totals.add(transaction.getStartDate(), transaction.getTransactionType(), transaction.getAmount());
+        }
+
+        long savingsCents = MonthlyTotals.toCents(openingSavings);
+        for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+            savingsCents = Math.addExact(savingsCents, totals.netCents(day));
+            blackhole.consume(MonthlyTotals.toAmount(totals.incomeCents(day)));
+            blackhole.consume(MonthlyTotals.toAmount(totals.expenseCents(day)));
+            blackhole.consume(MonthlyTotals.toAmount(savingsCents));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.expensetrackerspring.perf;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateDailySummaryBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 6);
+
+    @Param({"30", "300"})
+    private int transactionsPerMonth;
+
+    private EmbeddedLedgerDatabase database;
+    private ConfigurableApplicationContext context;
+    private UserMonthlySummaryService userMonthlySummaryService;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = EmbeddedLedgerDatabase.start();
+        // Background workers would recompute the same months concurrently with the measured calls.
+        context = database.startApplication("summary.recompute.workers=0", "server.port=0");
+
+        user = context.getBean(UserRepository.class).save(User.builder()
+                .firstName("Bench")
+                .username("bench")
+                .password("password1")
+                .email("bench@example.com")
+                .build());
+
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        Random random = new Random(42);
+        for (int i = 0; i < transactionsPerMonth; i++) {
+            transactionService.saveTransaction(new SaveTransactionRequest(null, "Item " + i, null,
+                    BigDecimal.valueOf(100 + random.nextInt(10_000), 2), "FOOD",
+                    MONTH.atDay(1 + random.nextInt(MONTH.lengthOfMonth())), null,
+                    RecurrenceFrequency.SINGLE, i % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE),
+                    user.getId());
+        }
+        transactionService.saveTransaction(new SaveTransactionRequest(null, "Rent", null, new BigDecimal("25.00"),
+                "BILLS", LocalDate.of(2024, 1, 1), null, RecurrenceFrequency.DAILY, TransactionType.EXPENSE, true),
+                user.getId());
+
+        userMonthlySummaryService = context.getBean(UserMonthlySummaryService.class);
+        // The first computation also materializes every earlier month; measure the steady-state recompute.
+        userMonthlySummaryService.updateDailySummary(MONTH.atDay(1), user);
+    }
+
+    @Benchmark
+    public void updateDailySummary() {
+        userMonthlySummaryService.updateDailySummary(MONTH.atDay(1), user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        database.close();
+    }
+}
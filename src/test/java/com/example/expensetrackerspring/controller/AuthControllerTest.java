@@ -5,7 +5,9 @@ import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
 import com.example.expensetrackerspring.core.service.AuthenticationService;
 import com.example.expensetrackerspring.rest.AuthController;
 import com.example.expensetrackerspring.rest.payload.request.SignInRequest;
+import com.example.expensetrackerspring.rest.payload.request.RefreshTokenRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
+import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,6 +21,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthControllerTest {
@@ -51,14 +54,30 @@ class AuthControllerTest {
     @Test
     void signIn_ShouldReturnOk_WhenSignInIsSuccessful() {
         SignInRequest signInRequest = new SignInRequest("user1", "password");
-        // No exception means successful sign in.
+        when(authenticationService.userSignIn(signInRequest))
+                .thenReturn(new SignInResponse(true, "Successfully logged in", "access", "refresh", 900));
         ResponseEntity<Map<String, String>> response = authController.signIn(signInRequest);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("Login successful", response.getBody().get("message"));
+        assertEquals("access", response.getBody().get("accessToken"));
+        assertEquals("refresh", response.getBody().get("refreshToken"));
+        assertEquals("Bearer", response.getBody().get("tokenType"));
         verify(authenticationService).userSignIn(signInRequest);
     }
 
+    @Test
+    void refresh_ShouldReturnOkWithNewTokens() {
+        RefreshTokenRequest refreshTokenRequest = new RefreshTokenRequest("refresh");
+        when(authenticationService.refreshTokens(refreshTokenRequest))
+                .thenReturn(new SignInResponse(true, "Successfully logged in", "newAccess", "newRefresh", 900));
+        ResponseEntity<Map<String, String>> response = authController.refresh(refreshTokenRequest);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("newAccess", response.getBody().get("accessToken"));
+        assertEquals("900", response.getBody().get("expiresIn"));
+    }
+
     @Test
     void signIn_ShouldReturnForbidden_WhenUserNotFound() {
         SignInRequest signInRequest = new SignInRequest("user1", "password");
@@ -0,0 +1,55 @@
+package com.example.expensetrackerspring.controller;
+
+import com.example.expensetrackerspring.core.service.JdbcStatementCounter;
+import com.example.expensetrackerspring.rest.JdbcStatementMetricsFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcStatementCounter jdbcStatementCounter = new JdbcStatementCounter();
+    private final JdbcStatementMetricsFilter filter = new JdbcStatementMetricsFilter(jdbcStatementCounter, registry);
+
+    @Test
+    void doFilter_ShouldRecordStatementsOfRequestUnderItsRoutePattern() throws Exception {
+        jdbcStatementCounter.inspect("select issued before the request");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/transaction/month/2024-01"),
+                new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                                "/api/v1/transaction/month/{yearMonth}");
+                        jdbcStatementCounter.inspect("select ...");
+                        jdbcStatementCounter.inspect("select ...");
+                    }
+                }));
+
+        DistributionSummary statements = registry.get("http.server.requests.jdbc.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/transaction/month/{yearMonth}")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+    }
+
+    @Test
+    void doFilter_ShouldRecordUnmatchedRequestsAsUnknown() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertEquals(0, registry.get("http.server.requests.jdbc.statements").tag("uri", "UNKNOWN")
+                .summary().totalAmount());
+    }
+}
@@ -2,11 +2,15 @@ package com.example.expensetrackerspring.controller;
 
 import com.example.expensetrackerspring.core.TransactionType;
 import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.TransactionExportService;
+import com.example.expensetrackerspring.core.service.TransactionImportService;
 import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.core.service.UserLedgerVersion;
 import com.example.expensetrackerspring.rest.TransactionController;
 import com.example.expensetrackerspring.rest.payload.request.GetTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.request.RemoveTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import com.example.expensetrackerspring.rest.payload.response.ImportTransactionsResponse;
 import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +18,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.example.expensetrackerspring.core.RecurrenceFrequency;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -36,6 +48,15 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private UserLedgerVersion userLedgerVersion;
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -107,14 +128,31 @@ class TransactionControllerTest {
         );
         List<TransactionResponse> list = List.of(dummyResponse);
         when(transactionService.getTransactionsForMonth(dummyUser.getId(), yearMonth)).thenReturn(list);
+        when(userLedgerVersion.etag(dummyUser.getId())).thenReturn("\"1-4\"");
 
-        ResponseEntity<List<TransactionResponse>> response = transactionController.getTransactionsForMonth(yearMonth, dummyUser);
+        ResponseEntity<List<TransactionResponse>> response = transactionController.getTransactionsForMonth(
+                yearMonth, dummyUser, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/transaction/month/2025-02")));
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(list, response.getBody());
+        assertEquals("\"1-4\"", response.getHeaders().getETag());
         verify(transactionService).getTransactionsForMonth(dummyUser.getId(), yearMonth);
     }
 
+    @Test
+    void getTransactionsForMonth_ShouldReturnNotModified_WhenETagMatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transaction/month/2025-02");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-4\"");
+        when(userLedgerVersion.etag(dummyUser.getId())).thenReturn("\"1-4\"");
+
+        ResponseEntity<List<TransactionResponse>> response = transactionController.getTransactionsForMonth(
+                "2025-02", dummyUser, new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verifyNoInteractions(transactionService);
+    }
+
     @Test
     void getTransactionsForDay_ShouldReturnOkWithList() {
         String day = "2025-02-21";
@@ -207,5 +245,34 @@ class TransactionControllerTest {
         );
         assertEquals("Invalid or missing deleteType. Expected 'ALL' or 'SINGLE'.", exception.getMessage());
     }
-}
 
+    @Test
+    void importCsv_ShouldReturnCreatedResponseWithImportedCount() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(transactionImportService.importCsv(body, dummyUser.getId()))
+                .thenReturn(new ImportTransactionsResponse(true, "Transactions imported successfully", 3));
+
+        ResponseEntity<ImportTransactionsResponse> response = transactionController.importCsv(body, dummyUser);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(3, response.getBody().imported());
+    }
+
+    @Test
+    void exportTransactions_ShouldStreamNdjsonFromService() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = transactionController.exportTransactions("ndjson", dummyUser);
+        verifyNoInteractions(transactionExportService);
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(transactionExportService).exportNdjson(dummyUser.getId(), output);
+    }
+
+    @Test
+    void exportTransactions_ShouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionController.exportTransactions("xml", dummyUser));
+    }
+}
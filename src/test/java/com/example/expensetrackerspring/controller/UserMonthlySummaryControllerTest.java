@@ -1,17 +1,27 @@
 package com.example.expensetrackerspring.controller;
 
+import com.example.expensetrackerspring.core.SummaryBucket;
+import com.example.expensetrackerspring.core.TransactionType;
 import com.example.expensetrackerspring.core.persistance.entity.User;
-import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.core.service.UserLedgerVersion;
 import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
 import com.example.expensetrackerspring.rest.UserMonthlySummaryController;
+import com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,11 +34,14 @@ class UserMonthlySummaryControllerTest {
     @Mock
     private UserMonthlySummaryService userMonthlySummaryService;
 
+    @Mock
+    private UserLedgerVersion userLedgerVersion;
+
     @InjectMocks
     private UserMonthlySummaryController userMonthlySummaryController;
 
     private User dummyUser;
-    private UserMonthlySummary dummySummary;
+    private DailySummaryResponse dummySummary;
 
     @BeforeEach
     void setUp() {
@@ -36,9 +49,8 @@ class UserMonthlySummaryControllerTest {
         dummyUser.setId(1L);
         dummyUser.setUsername("testUser");
 
-        dummySummary = new UserMonthlySummary();
-        dummySummary.setUser(dummyUser);
-        dummySummary.setDate(LocalDate.of(2025, 2, 21));
+        dummySummary = new DailySummaryResponse(LocalDate.of(2025, 2, 21),
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9));
     }
 
     @Test
@@ -48,7 +60,7 @@ class UserMonthlySummaryControllerTest {
         when(userMonthlySummaryService.getSummaryForDay(parsedDate, dummyUser))
                 .thenReturn(dummySummary);
 
-        ResponseEntity<UserMonthlySummary> response = userMonthlySummaryController.getSummaryForDay(dateStr, dummyUser);
+        ResponseEntity<DailySummaryResponse> response = userMonthlySummaryController.getSummaryForDay(dateStr, dummyUser);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals(dummySummary, response.getBody());
@@ -58,14 +70,69 @@ class UserMonthlySummaryControllerTest {
     @Test
     void getSummaryForMonth_ShouldReturnOkWithSummaries() {
         String yearMonth = "2025-02";
-        List<UserMonthlySummary> summaries = List.of(dummySummary);
+        List<DailySummaryResponse> summaries = List.of(dummySummary);
         when(userMonthlySummaryService.getSummaryForMonth(dummyUser, yearMonth)).thenReturn(summaries);
+        when(userLedgerVersion.etag(dummyUser.getId())).thenReturn("\"1-7\"");
 
-        ResponseEntity<List<UserMonthlySummary>> response = userMonthlySummaryController.getSummaryForMonth(yearMonth, dummyUser);
+        ResponseEntity<List<DailySummaryResponse>> response = userMonthlySummaryController.getSummaryForMonth(
+                yearMonth, dummyUser, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/summary/month/2025-02")));
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals(summaries, response.getBody());
+        assertEquals("\"1-7\"", response.getHeaders().getETag());
         verify(userMonthlySummaryService).getSummaryForMonth(dummyUser, yearMonth);
     }
-}
 
+    @Test
+    void getSummaryForMonth_ShouldReturnNotModified_WhenETagMatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/summary/month/2025-02");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-7\"");
+        when(userLedgerVersion.etag(dummyUser.getId())).thenReturn("\"1-7\"");
+
+        ResponseEntity<List<DailySummaryResponse>> response = userMonthlySummaryController.getSummaryForMonth(
+                "2025-02", dummyUser, new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        assertEquals(304, response.getStatusCodeValue());
+        verifyNoInteractions(userMonthlySummaryService);
+    }
+
+    @Test
+    void getCategoryTotals_ShouldReturnOkWithTotals() {
+        List<CategoryTotalResponse> totals = List.of(
+                new CategoryTotalResponse("FOOD", TransactionType.EXPENSE, BigDecimal.TEN, 2));
+        when(userMonthlySummaryService.getCategoryTotals(dummyUser, "2025-02")).thenReturn(totals);
+        when(userLedgerVersion.etag(dummyUser.getId())).thenReturn("\"1-7\"");
+
+        ResponseEntity<List<CategoryTotalResponse>> response = userMonthlySummaryController.getCategoryTotals(
+                "2025-02", dummyUser, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/summary/categories/2025-02")));
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(totals, response.getBody());
+    }
+
+    @Test
+    void getRollup_ShouldReturnOkWithBuckets() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        List<SummaryRollupResponse> rollup = List.of(new SummaryRollupResponse(from, LocalDate.of(2025, 1, 31),
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9)));
+        when(userMonthlySummaryService.getRollup(dummyUser, from, to, SummaryBucket.MONTH)).thenReturn(rollup);
+        when(userLedgerVersion.etag(dummyUser.getId())).thenReturn("\"1-7\"");
+
+        ResponseEntity<List<SummaryRollupResponse>> response = userMonthlySummaryController.getRollup(
+                "2025-01-01", "2025-12-31", "month", dummyUser,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/summary/range")));
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(rollup, response.getBody());
+        assertEquals("\"1-7\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getRollup_ShouldRejectUnknownBucket() {
+        assertThrows(IllegalArgumentException.class, () -> userMonthlySummaryController.getRollup(
+                "2025-01-01", "2025-12-31", "decade", dummyUser,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/summary/range"))));
+        verifyNoInteractions(userMonthlySummaryService);
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.expensetrackerspring.service;
 
 import com.example.expensetrackerspring.core.exceptions.InvalidCredentialException;
+import com.example.expensetrackerspring.core.exceptions.InvalidTokenException;
 import com.example.expensetrackerspring.core.exceptions.InvalidUsernameException;
 import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
 import com.example.expensetrackerspring.core.persistance.entity.User;
 import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
 import com.example.expensetrackerspring.core.service.AuthenticationServiceImpl;
+import com.example.expensetrackerspring.rest.payload.request.RefreshTokenRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignInRequest;
 import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
 import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
+import com.example.expensetrackerspring.security.TokenClaims;
+import com.example.expensetrackerspring.security.TokenService;
+import com.example.expensetrackerspring.security.TokenType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +35,9 @@ public class AuthenticationServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenService tokenService;
+
     @InjectMocks
     private AuthenticationServiceImpl authenticationService;
 
@@ -78,6 +87,8 @@ public class AuthenticationServiceImplTest {
 
         when(userRepository.findByUsername(request.username())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(request.password(), user.getPassword())).thenReturn(true);
+        when(tokenService.issueTokens(user))
+                .thenReturn(new SignInResponse(true, "Successfully logged in", "access", "refresh", 900));
 
         // When
         SignInResponse response = authenticationService.userSignIn(request);
@@ -85,6 +96,40 @@ public class AuthenticationServiceImplTest {
         // Then
         assertTrue(response.success());
         assertEquals("Successfully logged in", response.message());
+        assertEquals("access", response.accessToken());
+        assertEquals("refresh", response.refreshToken());
+    }
+
+    @Test
+    void refreshTokens_ShouldIssueNewTokens_WhenRefreshTokenIsValid() {
+        // Given
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+        when(tokenService.parse("refresh", TokenType.REFRESH))
+                .thenReturn(new TokenClaims(TokenType.REFRESH, 1L, "testUser", Instant.now().plusSeconds(60)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(tokenService.issueTokens(user))
+                .thenReturn(new SignInResponse(true, "Successfully logged in", "newAccess", "newRefresh", 900));
+
+        // When
+        SignInResponse response = authenticationService.refreshTokens(new RefreshTokenRequest("refresh"));
+
+        // Then
+        assertEquals("newAccess", response.accessToken());
+    }
+
+    @Test
+    void refreshTokens_ShouldThrowException_WhenUserNoLongerExists() {
+        // Given
+        when(tokenService.parse("refresh", TokenType.REFRESH))
+                .thenReturn(new TokenClaims(TokenType.REFRESH, 1L, "testUser", Instant.now().plusSeconds(60)));
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(InvalidTokenException.class,
+                () -> authenticationService.refreshTokens(new RefreshTokenRequest("refresh")));
+        verify(tokenService, never()).issueTokens(any(User.class));
     }
 
     @Test
@@ -0,0 +1,93 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.CustomUserDetailsService;
+import com.example.expensetrackerspring.core.service.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPrincipalCache userPrincipalCache;
+    private CustomUserDetailsService customUserDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userPrincipalCache = new UserPrincipalCache(100, Duration.ofMinutes(5));
+        customUserDetailsService = new CustomUserDetailsService(userRepository, userPrincipalCache);
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+        user.setPassword("encodedPassword");
+    }
+
+    @Test
+    void loadUserByUsername_ShouldQueryRepositoryOnlyOnce_WhenUserIsCached() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+
+        UserDetails first = customUserDetailsService.loadUserByUsername("testUser");
+        UserDetails second = customUserDetailsService.loadUserByUsername("testUser");
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("testUser");
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReloadUser_AfterEviction() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("testUser");
+        userPrincipalCache.evict(user);
+        customUserDetailsService.loadUserByUsername("testUser");
+
+        verify(userRepository, times(2)).findByUsername("testUser");
+    }
+
+    @Test
+    void evict_ShouldEvictAgainAfterCommit_WhenUserWasReloadedBeforeCommit() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        customUserDetailsService.loadUserByUsername("testUser");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userPrincipalCache.evict(user);
+            // A concurrent login still sees the committed old row and caches it again.
+            customUserDetailsService.loadUserByUsername("testUser");
+            assertNotNull(userPrincipalCache.get("testUser"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(userPrincipalCache.get("testUser"));
+    }
+
+    @Test
+    void loadUserByUsername_ShouldThrowException_WhenUserDoesNotExist() {
+        when(userRepository.findByUsername("missingUser")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("missingUser"));
+        assertNull(userPrincipalCache.get("missingUser"));
+    }
+}
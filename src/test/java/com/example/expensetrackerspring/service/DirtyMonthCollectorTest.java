@@ -0,0 +1,143 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.DirtyMonthCollector;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache.MonthRange;
+import com.example.expensetrackerspring.core.service.SummaryRecomputeQueue;
+import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DirtyMonthCollectorTest {
+
+    @Mock
+    private UserMonthlySummaryService userMonthlySummaryService;
+
+    @Mock
+    private SummaryRecomputeQueue summaryRecomputeQueue;
+
+    @Mock
+    private MonthlyReadCache monthlyReadCache;
+
+    @InjectMocks
+    private DirtyMonthCollector dirtyMonthCollector;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(dirtyMonthCollector);
+    }
+
+    @Test
+    void markDirty_ShouldEnqueueImmediately_WhenNoTransactionIsActive() {
+        dirtyMonthCollector.markDirty(user, LocalDate.of(2024, 3, 15));
+
+        InOrder inOrder = inOrder(userMonthlySummaryService, summaryRecomputeQueue);
+        inOrder.verify(userMonthlySummaryService).markStale(user, YearMonth.of(2024, 3));
+        inOrder.verify(summaryRecomputeQueue).enqueue(user, List.of(YearMonth.of(2024, 3)));
+        verify(userMonthlySummaryService, never()).updateDailySummary(any(LocalDate.class), any(User.class));
+        verify(monthlyReadCache).evict(1L, List.of(MonthRange.of(YearMonth.of(2024, 3))));
+    }
+
+    @Test
+    void markDirty_ShouldEnqueueEachMonthOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (LocalDate date = LocalDate.of(2024, 2, 1); date.isBefore(LocalDate.of(2024, 4, 1)); date = date.plusDays(1)) {
+            dirtyMonthCollector.markDirty(user, date);
+        }
+        dirtyMonthCollector.markDirty(user, LocalDate.of(2024, 1, 31));
+
+        verify(userMonthlySummaryService).markStale(user, YearMonth.of(2024, 1));
+        verify(userMonthlySummaryService).markStale(user, YearMonth.of(2024, 2));
+        verify(userMonthlySummaryService).markStale(user, YearMonth.of(2024, 3));
+        verifyNoInteractions(summaryRecomputeQueue);
+        verifyNoInteractions(monthlyReadCache);
+
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        ArgumentCaptor<Collection<YearMonth>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(summaryRecomputeQueue).enqueue(eq(user), captor.capture());
+        assertEquals(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3)),
+                List.copyOf(captor.getValue()));
+        verify(userMonthlySummaryService, never()).updateDailySummary(any(LocalDate.class), any(User.class));
+        verify(monthlyReadCache).evict(eq(1L), anyList());
+    }
+
+    @Test
+    void markDirty_ShouldNotEnqueue_WhenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        dirtyMonthCollector.markDirty(user, LocalDate.of(2024, 3, 15));
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(summaryRecomputeQueue);
+        verifyNoInteractions(monthlyReadCache);
+    }
+
+    @Test
+    void markDirty_ShouldStopOpenEndedRangeAtLastComputedMonth() {
+        when(userMonthlySummaryService.getLastComputedMonth(user)).thenReturn(Optional.of(YearMonth.of(2024, 3)));
+
+        dirtyMonthCollector.markDirty(user, LocalDate.of(2024, 2, 10), null);
+
+        verify(userMonthlySummaryService).markStale(user, YearMonth.of(2024, 2));
+        verify(userMonthlySummaryService).markStale(user, YearMonth.of(2024, 3));
+        verify(userMonthlySummaryService, never()).markStale(user, YearMonth.of(2024, 4));
+    }
+
+    @Test
+    void markDirty_ShouldSkipRange_WhenNothingIsMaterializedYet() {
+        when(userMonthlySummaryService.getLastComputedMonth(user)).thenReturn(Optional.empty());
+
+        dirtyMonthCollector.markDirty(user, LocalDate.of(2024, 2, 10), LocalDate.of(2024, 5, 1));
+
+        verify(userMonthlySummaryService, never()).markStale(any(User.class), any(YearMonth.class));
+        verify(monthlyReadCache).evict(1L, List.of(new MonthRange(YearMonth.of(2024, 2), YearMonth.of(2024, 5))));
+    }
+
+    @Test
+    void markDirty_ShouldInvalidateWholeOpenEndedRangeAfterCommit() {
+        when(userMonthlySummaryService.getLastComputedMonth(user)).thenReturn(Optional.of(YearMonth.of(2024, 3)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        dirtyMonthCollector.markDirty(user, LocalDate.of(2024, 2, 10), null);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        verify(monthlyReadCache).evict(1L, List.of(new MonthRange(YearMonth.of(2024, 2), null)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.ExpenseTrackerSpringApplication;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.AuthenticationService;
+import com.example.expensetrackerspring.rest.payload.request.SignUpRequest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+
+// Runs the real services, migrations and native SQL against an embedded Postgres, one per test class.
+abstract class EmbeddedPostgresApplicationTest {
+
+    protected static ConfigurableApplicationContext context;
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.builder()
+                .setServerConfig("shared_preload_libraries", "pg_stat_statements")
+                .start();
+        // Passed as arguments, since application.properties would win over default properties.
+        context = new SpringApplicationBuilder(ExpenseTrackerSpringApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0");
+    }
+
+    @AfterAll
+    static void stopApplication() throws IOException {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+        if (postgres != null) {
+            postgres.close();
+            postgres = null;
+        }
+    }
+
+    protected static User signUp(String username) {
+        context.getBean(AuthenticationService.class)
+                .userSignUp(new SignUpRequest(username, username, username + "@example.com", "password1"));
+        return context.getBean(UserRepository.class).findByUsername(username).orElseThrow();
+    }
+}
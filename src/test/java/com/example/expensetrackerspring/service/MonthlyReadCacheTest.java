@@ -0,0 +1,120 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache.MonthRange;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyReadCacheTest {
+
+    private final MonthlyReadCache cache = new MonthlyReadCache(100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void transactions_ShouldServeRepeatedReadsFromCache() {
+        load(1L, YearMonth.of(2024, 3));
+        List<TransactionResponse> second = load(1L, YearMonth.of(2024, 3));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    void evict_ShouldDropOnlyTouchedTransactionMonthsOfThatUser() {
+        load(1L, YearMonth.of(2024, 2));
+        load(1L, YearMonth.of(2024, 3));
+        load(2L, YearMonth.of(2024, 3));
+
+        cache.evict(1L, List.of(MonthRange.of(YearMonth.of(2024, 3))));
+
+        load(1L, YearMonth.of(2024, 2));
+        load(2L, YearMonth.of(2024, 3));
+        assertEquals(3, loads.get());
+        load(1L, YearMonth.of(2024, 3));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void evict_ShouldDropEveryMonthOfOpenEndedRange() {
+        load(1L, YearMonth.of(2024, 1));
+        load(1L, YearMonth.of(2030, 6));
+
+        cache.evict(1L, List.of(new MonthRange(YearMonth.of(2024, 2), null)));
+
+        load(1L, YearMonth.of(2024, 1));
+        assertEquals(2, loads.get());
+        load(1L, YearMonth.of(2030, 6));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void evict_ShouldDropSummariesFromEarliestTouchedMonthOnwards() {
+        loadSummary(1L, YearMonth.of(2024, 1));
+        loadSummary(1L, YearMonth.of(2024, 5));
+
+        cache.evict(1L, List.of(MonthRange.of(YearMonth.of(2024, 2))));
+
+        loadSummary(1L, YearMonth.of(2024, 1));
+        assertEquals(2, loads.get());
+        loadSummary(1L, YearMonth.of(2024, 5));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void transactions_ShouldNotKeepRowsLoadedWhileAWriteCommitted() {
+        YearMonth month = YearMonth.of(2024, 3);
+
+        cache.transactions(1L, month, () -> {
+            loads.incrementAndGet();
+            cache.evict(1L, List.of(MonthRange.of(month)));
+            return List.of(row());
+        });
+        load(1L, month);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void bindTo_ShouldReportHitsAndHeldRows() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        load(1L, YearMonth.of(2024, 3));
+        load(1L, YearMonth.of(2024, 3));
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "month-transactions").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.rows").tag("cache", "month-transactions").gauge().value());
+    }
+
+    private List<TransactionResponse> load(Long userId, YearMonth month) {
+        return cache.transactions(userId, month, () -> {
+            loads.incrementAndGet();
+            return List.of(row());
+        });
+    }
+
+    private void loadSummary(Long userId, YearMonth month) {
+        cache.summaries(userId, month, () -> {
+            loads.incrementAndGet();
+            return List.of(new DailySummaryResponse(month.atDay(1), BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE));
+        });
+    }
+
+    private static TransactionResponse row() {
+        return new TransactionResponse(1L, "Groceries", null, BigDecimal.TEN, "Food",
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1), TransactionType.EXPENSE);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.JdbcStatementCounter;
+import com.example.expensetrackerspring.core.service.ServiceMetricsAspect;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private TransactionService transactionServiceTarget;
+
+    @Mock
+    private UserMonthlySummaryService userMonthlySummaryServiceTarget;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcStatementCounter jdbcStatementCounter = new JdbcStatementCounter();
+
+    private TransactionService transactionService;
+    private UserMonthlySummaryService userMonthlySummaryService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ServiceMetricsAspect aspect = new ServiceMetricsAspect(registry, jdbcStatementCounter);
+        transactionService = proxy(transactionServiceTarget, TransactionService.class, aspect);
+        userMonthlySummaryService = proxy(userMonthlySummaryServiceTarget, UserMonthlySummaryService.class, aspect);
+        user = new User();
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void record_ShouldTagCallWithFrequencyAndDistinctMonthsTouchedByNestedCalls() {
+        when(transactionServiceTarget.saveTransaction(any(), eq(1L))).thenAnswer(invocation -> {
+            jdbcStatementCounter.inspect("insert into transactions ...");
+            userMonthlySummaryService.markStale(user, YearMonth.of(2024, 1));
+            userMonthlySummaryService.markStale(user, YearMonth.of(2024, 2));
+            userMonthlySummaryService.markStale(user, YearMonth.of(2024, 2));
+            return null;
+        });
+
+        transactionService.saveTransaction(request(RecurrenceFrequency.WEEKLY), 1L);
+
+        Timer timer = registry.get("ledger.service.calls")
+                .tag("class", "TransactionService")
+                .tag("method", "saveTransaction")
+                .tag("frequency", "WEEKLY")
+                .tag("months", "2-3")
+                .tag("endpoint", "none")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(3, registry.get("ledger.service.calls").tag("method", "markStale").tag("months", "1")
+                .timer().count());
+    }
+
+    @Test
+    void record_ShouldCountStatementsOfCallIncludingNestedCalls() {
+        doAnswer(invocation -> {
+            jdbcStatementCounter.inspect("update user_monthly_summary ...");
+            return null;
+        }).when(userMonthlySummaryServiceTarget).markStale(user, YearMonth.of(2024, 1));
+        when(transactionServiceTarget.getTransactionsForMonth(1L, "2024-01")).thenAnswer(invocation -> {
+            jdbcStatementCounter.inspect("select ...");
+            userMonthlySummaryService.markStale(user, YearMonth.of(2024, 1));
+            return List.of();
+        });
+
+        transactionService.getTransactionsForMonth(1L, "2024-01");
+
+        DistributionSummary statements = registry.get("ledger.service.jdbc.statements")
+                .tag("method", "getTransactionsForMonth")
+                .summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+    }
+
+    @Test
+    void record_ShouldTagEndpointAndExceptionAndRethrow() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/summary/month/2024-13");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/summary/month/{yearMonth}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(userMonthlySummaryServiceTarget.getSummaryForMonth(user, "2024-13"))
+                .thenThrow(new IllegalArgumentException("Invalid month"));
+
+        assertThrows(IllegalArgumentException.class, () -> userMonthlySummaryService.getSummaryForMonth(user, "2024-13"));
+
+        assertEquals(1, registry.get("ledger.service.calls")
+                .tag("class", "UserMonthlySummaryService")
+                .tag("endpoint", "GET /api/v1/summary/month/{yearMonth}")
+                .tag("months", "0")
+                .tag("frequency", "none")
+                .tag("exception", "IllegalArgumentException")
+                .timer().count());
+    }
+
+    private static SaveTransactionRequest request(RecurrenceFrequency frequency) {
+        return new SaveTransactionRequest(null, "Groceries", null, BigDecimal.TEN, "FOOD",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), frequency, TransactionType.EXPENSE);
+    }
+
+    private static <T> T proxy(T target, Class<T> type, ServiceMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setInterfaces(type);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
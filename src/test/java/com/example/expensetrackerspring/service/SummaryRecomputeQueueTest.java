@@ -0,0 +1,108 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.SummaryRecomputeQueue;
+import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryRecomputeQueueTest {
+
+    @Mock
+    private UserMonthlySummaryService userMonthlySummaryService;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private SummaryRecomputeQueue queue;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        queue = new SummaryRecomputeQueue(userMonthlySummaryService, 0, clock::get);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+    }
+
+    @Test
+    void drainNext_ShouldRecomputeCoalescedMonthsOnceOldestFirst() throws InterruptedException {
+        queue.enqueue(user, List.of(YearMonth.of(2024, 3)));
+        queue.enqueue(user, List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 3)));
+        when(userMonthlySummaryService.recomputeIfStale(eq(user), any(YearMonth.class))).thenReturn(true);
+
+        assertEquals(2, queue.depth());
+        assertTrue(queue.drainNext(0, TimeUnit.MILLISECONDS));
+        assertFalse(queue.drainNext(0, TimeUnit.MILLISECONDS));
+
+        InOrder inOrder = inOrder(userMonthlySummaryService);
+        inOrder.verify(userMonthlySummaryService).recomputeIfStale(user, YearMonth.of(2024, 1));
+        inOrder.verify(userMonthlySummaryService).recomputeIfStale(user, YearMonth.of(2024, 3));
+        verifyNoMoreInteractions(userMonthlySummaryService);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void drainNext_ShouldKeepDrainingMonths_WhenOneRecomputeFails() throws InterruptedException {
+        queue.enqueue(user, List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2)));
+        when(userMonthlySummaryService.recomputeIfStale(user, YearMonth.of(2024, 1)))
+                .thenThrow(new IllegalStateException("boom"));
+        when(userMonthlySummaryService.recomputeIfStale(user, YearMonth.of(2024, 2))).thenReturn(true);
+
+        queue.drainNext(0, TimeUnit.MILLISECONDS);
+
+        verify(userMonthlySummaryService).recomputeIfStale(user, YearMonth.of(2024, 2));
+    }
+
+    @Test
+    void enqueue_ShouldQueueUserAgain_WhenEventsArriveAfterItWasTaken() throws InterruptedException {
+        queue.enqueue(user, List.of(YearMonth.of(2024, 1)));
+        queue.drainNext(0, TimeUnit.MILLISECONDS);
+
+        queue.enqueue(user, List.of(YearMonth.of(2024, 1)));
+        assertTrue(queue.drainNext(0, TimeUnit.MILLISECONDS));
+
+        verify(userMonthlySummaryService, times(2)).recomputeIfStale(user, YearMonth.of(2024, 1));
+    }
+
+    @Test
+    void bindTo_ShouldReportDepthLagAndCoalescedEvents() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        queue.bindTo(registry);
+
+        queue.enqueue(user, List.of(YearMonth.of(2024, 1)));
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        queue.enqueue(user, List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2)));
+
+        assertEquals(2, registry.get("summary.recompute.queue.depth").gauge().value());
+        assertEquals(3, registry.get("summary.recompute.lag").timeGauge().value(TimeUnit.SECONDS));
+        assertEquals(1, registry.get("summary.recompute.coalesced").functionCounter().count());
+    }
+
+    @Test
+    void start_ShouldDrainQueueInBackground() throws InterruptedException {
+        SummaryRecomputeQueue backgroundQueue = new SummaryRecomputeQueue(userMonthlySummaryService, 2, clock::get);
+        backgroundQueue.start();
+        try {
+            backgroundQueue.enqueue(user, List.of(YearMonth.of(2024, 1)));
+
+            verify(userMonthlySummaryService, timeout(5000)).recomputeIfStale(user, YearMonth.of(2024, 1));
+        } finally {
+            backgroundQueue.stop();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.exceptions.InvalidTokenException;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.rest.payload.response.SignInResponse;
+import com.example.expensetrackerspring.security.TokenClaims;
+import com.example.expensetrackerspring.security.TokenService;
+import com.example.expensetrackerspring.security.TokenType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService("test-secret", Duration.ofMinutes(15), Duration.ofDays(7));
+
+        user = new User();
+        user.setId(42L);
+        user.setUsername("testUser");
+    }
+
+    @Test
+    void issueTokens_ShouldProduceTokensThatParseBackToTheUser() {
+        SignInResponse response = tokenService.issueTokens(user);
+
+        TokenClaims access = tokenService.parse(response.accessToken(), TokenType.ACCESS);
+        TokenClaims refresh = tokenService.parse(response.refreshToken(), TokenType.REFRESH);
+
+        assertEquals(42L, access.userId());
+        assertEquals("testUser", access.username());
+        assertEquals(42L, refresh.userId());
+        assertEquals(900, response.expiresIn());
+    }
+
+    @Test
+    void parse_ShouldRejectTamperedToken() {
+        String token = tokenService.issueTokens(user).accessToken();
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.parse(tampered, TokenType.ACCESS));
+    }
+
+    @Test
+    void parse_ShouldRejectTokenSignedWithAnotherSecret() {
+        String token = new TokenService("other-secret", Duration.ofMinutes(15), Duration.ofDays(7))
+                .issueTokens(user).accessToken();
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.parse(token, TokenType.ACCESS));
+    }
+
+    @Test
+    void parse_ShouldRejectRefreshTokenUsedAsAccessToken() {
+        String refreshToken = tokenService.issueTokens(user).refreshToken();
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.parse(refreshToken, TokenType.ACCESS));
+    }
+
+    @Test
+    void parse_ShouldRejectExpiredToken() {
+        TokenService expiringTokenService = new TokenService("test-secret", Duration.ofSeconds(-1), Duration.ofDays(7));
+        String token = expiringTokenService.issueTokens(user).accessToken();
+
+        assertThrows(InvalidTokenException.class, () -> expiringTokenService.parse(token, TokenType.ACCESS));
+    }
+
+    @Test
+    void parse_ShouldRejectMalformedToken() {
+        assertThrows(InvalidTokenException.class, () -> tokenService.parse("not-a-token", TokenType.ACCESS));
+        assertThrows(InvalidTokenException.class, () -> tokenService.parse("abc.!!!", TokenType.ACCESS));
+    }
+}
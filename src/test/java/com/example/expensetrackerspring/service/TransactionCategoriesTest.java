@@ -0,0 +1,112 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.persistance.repository.TransactionCategoryRepository;
+import com.example.expensetrackerspring.core.service.TransactionCategories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCategoriesTest {
+
+    @Mock
+    private TransactionCategoryRepository transactionCategoryRepository;
+
+    @InjectMocks
+    private TransactionCategories transactionCategories;
+
+    @Test
+    void normalize_ShouldTrimCollapseAndUpperCase() {
+        assertEquals("EATING OUT", TransactionCategories.normalize("  eating \t out "));
+    }
+
+    @Test
+    void idOf_ShouldLookUpNormalizedNameOnce() {
+        when(transactionCategoryRepository.findIdByName("FOOD")).thenReturn(Optional.of(4));
+
+        assertEquals(4, transactionCategories.idOf("Food"));
+        assertEquals(4, transactionCategories.idOf(" food"));
+
+        verify(transactionCategoryRepository, times(1)).findIdByName("FOOD");
+        verify(transactionCategoryRepository, never()).insertIfAbsent(anyString());
+    }
+
+    @Test
+    void idOf_ShouldInsertUnknownName() {
+        when(transactionCategoryRepository.findIdByName("TRAVEL"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(11));
+
+        assertEquals(11, transactionCategories.idOf("Travel"));
+
+        InOrder inOrder = inOrder(transactionCategoryRepository);
+        inOrder.verify(transactionCategoryRepository).insertIfAbsent("TRAVEL");
+        inOrder.verify(transactionCategoryRepository).findIdByName("TRAVEL");
+    }
+
+    @Test
+    void idOf_ShouldNotRememberIdUntilTransactionCommits() {
+        when(transactionCategoryRepository.findIdByName("TRAVEL"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(11))
+                .thenReturn(Optional.empty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionCategories.idOf("Travel");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.empty(), transactionCategories.findId("Travel"));
+    }
+
+    @Test
+    void idOf_ShouldKeepIdsForTransactionAndPublishThemOnceOnCommit() {
+        when(transactionCategoryRepository.findIdByName("FOOD")).thenReturn(Optional.of(4));
+        when(transactionCategoryRepository.findIdByName("TRAVEL"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(11));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(4, transactionCategories.idOf("Food"));
+                assertEquals(11, transactionCategories.idOf("Travel"));
+            }
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.of(11), transactionCategories.findId("Travel"));
+        verify(transactionCategoryRepository, times(1)).findIdByName("FOOD");
+        verify(transactionCategoryRepository, times(2)).findIdByName("TRAVEL");
+        verify(transactionCategoryRepository, times(1)).insertIfAbsent("TRAVEL");
+        assertNull(TransactionSynchronizationManager.getResource(transactionCategories));
+    }
+
+    @Test
+    void findId_ShouldNotInsertUnknownName() {
+        when(transactionCategoryRepository.findIdByName("TRAVEL")).thenReturn(Optional.empty());
+
+        assertTrue(transactionCategories.findId("Travel").isEmpty());
+        verify(transactionCategoryRepository, never()).insertIfAbsent(anyString());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
+import com.example.expensetrackerspring.core.service.TransactionExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private TransactionExportServiceImpl exportService;
+    private Transaction rent;
+    private Transaction coffee;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new TransactionExportServiceImpl(transactionRepository, entityManager, objectMapper);
+
+        rent = Transaction.builder()
+                .id(1L)
+                .name("Rent")
+                .description("Flat, monthly")
+                .amount(new BigDecimal("900.00"))
+                .category("BILLS")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .recurrenceFrequency(RecurrenceFrequency.MONTHLY)
+                .transactionType(TransactionType.EXPENSE)
+                .ruleBased(true)
+                .build();
+        coffee = Transaction.builder()
+                .id(2L)
+                .name("Coffee")
+                .amount(new BigDecimal("3.20"))
+                .category("FOOD")
+                .startDate(LocalDate.of(2024, 1, 2))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .recurrenceFrequency(RecurrenceFrequency.SINGLE)
+                .transactionType(TransactionType.EXPENSE)
+                .build();
+    }
+
+    @Test
+    void exportCsv_ShouldWriteHeaderAndEscapedRows_AndDetachEachEntity() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(transactionRepository.streamByUserId(1L)).thenReturn(Stream.of(rent, coffee).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = exportService.exportCsv(1L, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals("id,name,description,amount,category,startDate,endDate,recurrenceFrequency,transactionType,ruleBased,seriesId",
+                lines[0]);
+        assertEquals("1,Rent,\"Flat, monthly\",900.00,BILLS,2024-01-01,,MONTHLY,EXPENSE,true,", lines[1]);
+        assertEquals("2,Coffee,,3.20,FOOD,2024-01-02,2024-01-02,SINGLE,EXPENSE,false,", lines[2]);
+        verify(entityManager).detach(rent);
+        verify(entityManager).detach(coffee);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOneJsonObjectPerLine() {
+        when(transactionRepository.streamByUserId(1L)).thenReturn(Stream.of(rent, coffee));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = exportService.exportNdjson(1L, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Rent\""));
+        assertTrue(lines[1].contains("\"startDate\":\"2024-01-02\""));
+    }
+}
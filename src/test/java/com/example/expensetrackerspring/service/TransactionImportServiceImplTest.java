@@ -0,0 +1,253 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.exceptions.InvalidTransactionDetailsException;
+import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionCategoryRepository;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
+import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.DirtyMonthCollector;
+import com.example.expensetrackerspring.core.service.TransactionCategories;
+import com.example.expensetrackerspring.core.service.TransactionExportServiceImpl;
+import com.example.expensetrackerspring.core.service.TransactionImportServiceImpl;
+import com.example.expensetrackerspring.core.service.UserLedgerLock;
+import com.example.expensetrackerspring.core.service.UserLedgerVersion;
+import com.example.expensetrackerspring.rest.payload.response.ImportTransactionsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private DirtyMonthCollector dirtyMonthCollector;
+    @Mock
+    private UserLedgerLock userLedgerLock;
+    @Mock
+    private UserLedgerVersion userLedgerVersion;
+    @Mock
+    private TransactionCategories transactionCategories;
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionCategoryRepository transactionCategoryRepository;
+
+    private ObjectMapper objectMapper;
+    private TransactionImportServiceImpl importService;
+    private TransactionExportServiceImpl exportService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        importService = new TransactionImportServiceImpl(transactionRepository, userRepository, dirtyMonthCollector, userLedgerLock,
+                userLedgerVersion, transactionCategories, entityManager, objectMapper, 2);
+        exportService = new TransactionExportServiceImpl(transactionRepository, entityManager, objectMapper);
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void importNdjson_ShouldInsertInBatchesAndMarkEachMonthOnce() {
+        List<List<Transaction>> batches = captureBatches();
+
+        ImportTransactionsResponse response = importService.importNdjson(stream(
+                row("Coffee", "2024-01-03") + "\n"
+                        + row("Lunch", "2024-01-20") + "\n"
+                        + row("Train", "2024-02-01") + "\n"), 1L);
+
+        assertEquals(3, response.imported());
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        verify(entityManager, times(2)).clear();
+        verify(dirtyMonthCollector).markDirty(user, YearMonth.of(2024, 1));
+        verify(dirtyMonthCollector).markDirty(user, YearMonth.of(2024, 2));
+
+        InOrder inOrder = inOrder(transactionRepository, dirtyMonthCollector);
+        inOrder.verify(transactionRepository, times(2)).saveAll(anyList());
+        inOrder.verify(dirtyMonthCollector, times(2)).markDirty(eq(user), any(YearMonth.class));
+        verify(userLedgerVersion).bump(1L);
+    }
+
+    @Test
+    void importCsv_ShouldMapColumnsByHeader() {
+        List<List<Transaction>> batches = captureBatches();
+        when(transactionCategories.idOf("SALARY")).thenReturn(7);
+
+        ImportTransactionsResponse response = importService.importCsv(stream(
+                "startDate,name,amount,category,transactionType,description\n"
+                        + "2024-03-05,Salary,2500.00,SALARY,income,\"March, paid\"\n"), 1L);
+
+        Transaction saved = batches.get(0).get(0);
+        assertEquals(1, response.imported());
+        assertEquals(LocalDate.of(2024, 3, 5), saved.getStartDate());
+        assertEquals(new BigDecimal("2500.00"), saved.getAmount());
+        assertEquals("March, paid", saved.getDescription());
+        assertEquals(7, saved.getCategoryId());
+        assertSame(user, saved.getUser());
+    }
+
+    @Test
+    void importCsv_ShouldReportLineOfInvalidRow() {
+        InvalidTransactionDetailsException exception = assertThrows(InvalidTransactionDetailsException.class,
+                () -> importService.importCsv(stream(
+                        "startDate,name,amount,category,transactionType\n"
+                                + "2024-03-05,Salary,2500.00,SALARY,INCOME\n"
+                                + "2024-03-06,Broken,abc,SALARY,INCOME\n"), 1L));
+
+        assertTrue(exception.getMessage().contains("line 3"));
+        verify(dirtyMonthCollector, never()).markDirty(any(User.class), any(YearMonth.class));
+    }
+
+    @Test
+    void importNdjson_ShouldLookUpRepeatedCategoryOnce_WithinTransaction() {
+        TransactionCategories categories = new TransactionCategories(transactionCategoryRepository);
+        TransactionImportServiceImpl service = new TransactionImportServiceImpl(transactionRepository,
+                userRepository, dirtyMonthCollector, userLedgerLock, userLedgerVersion, categories, entityManager,
+                objectMapper, 50);
+        when(transactionCategoryRepository.findIdByName("FOOD")).thenReturn(Optional.of(4));
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            rows.append(row("Coffee " + i, "2024-01-03")).append('\n');
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.importNdjson(stream(rows.toString()), 1L);
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(transactionCategoryRepository, times(1)).findIdByName("FOOD");
+        verify(transactionRepository, times(20)).saveAll(anyList());
+    }
+
+    @Test
+    void importNdjson_ShouldRestoreExportedSeriesAndRule() {
+        assertRoundTrip((userId, output) -> exportService.exportNdjson(userId, output), importService::importNdjson);
+    }
+
+    @Test
+    void importCsv_ShouldRestoreExportedSeriesAndRule() {
+        assertRoundTrip((userId, output) -> exportService.exportCsv(userId, output), importService::importCsv);
+    }
+
+    private void assertRoundTrip(BiConsumer<Long, ByteArrayOutputStream> export,
+                                 BiConsumer<InputStream, Long> importer) {
+        String seriesId = "5b0e7c1e-2f57-4f0e-9a52-3c1f4a6d8e90";
+        List<Transaction> exported = new ArrayList<>();
+        for (int week = 0; week < 3; week++) {
+            exported.add(Transaction.builder()
+                    .id(10L + week)
+                    .name("Groceries")
+                    .amount(new BigDecimal("42.10"))
+                    .category("FOOD")
+                    .recurrenceFrequency(RecurrenceFrequency.WEEKLY)
+                    .startDate(LocalDate.of(2024, 1, 25).plusWeeks(week))
+                    .endDate(LocalDate.of(2024, 2, 8))
+                    .transactionType(TransactionType.EXPENSE)
+                    .seriesId(seriesId)
+                    .build());
+        }
+        exported.add(Transaction.builder()
+                .id(20L)
+                .name("Rent")
+                .description("Flat, monthly")
+                .amount(new BigDecimal("900.00"))
+                .category("BILLS")
+                .recurrenceFrequency(RecurrenceFrequency.MONTHLY)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .transactionType(TransactionType.EXPENSE)
+                .ruleBased(true)
+                .build());
+        when(transactionRepository.streamByUserId(1L)).thenReturn(exported.stream());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        export.accept(1L, output);
+        List<List<Transaction>> batches = captureBatches();
+
+        importer.accept(new ByteArrayInputStream(output.toByteArray()), 1L);
+
+        List<Transaction> imported = batches.stream().flatMap(List::stream).toList();
+        assertEquals(exported.size(), imported.size());
+        for (int i = 0; i < exported.size(); i++) {
+            Transaction before = exported.get(i);
+            Transaction after = imported.get(i);
+            assertNull(after.getId());
+            assertEquals(before.getName(), after.getName());
+            assertEquals(before.getDescription(), after.getDescription());
+            assertEquals(before.getAmount(), after.getAmount());
+            assertEquals(before.getRecurrenceFrequency(), after.getRecurrenceFrequency());
+            assertEquals(before.getStartDate(), after.getStartDate());
+            assertEquals(before.getEndDate(), after.getEndDate());
+            assertEquals(before.isRuleBased(), after.isRuleBased());
+        }
+        // The occurrences stay one series, under an id of their own.
+        String importedSeriesId = imported.get(0).getSeriesId();
+        assertNotNull(importedSeriesId);
+        assertNotEquals(seriesId, importedSeriesId);
+        assertEquals(importedSeriesId, imported.get(1).getSeriesId());
+        assertEquals(importedSeriesId, imported.get(2).getSeriesId());
+        assertNull(imported.get(3).getSeriesId());
+        verify(dirtyMonthCollector).markDirty(user, YearMonth.of(2024, 1));
+        verify(dirtyMonthCollector).markDirty(user, YearMonth.of(2024, 2));
+        verify(dirtyMonthCollector).markDirty(user, LocalDate.of(2024, 1, 1), null);
+    }
+
+    private List<List<Transaction>> captureBatches() {
+        // The importer reuses its batch list, so each saveAll argument is copied when it is received.
+        List<List<Transaction>> batches = new ArrayList<>();
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.<List<Transaction>>getArgument(0)));
+            return invocation.getArgument(0);
+        });
+        return batches;
+    }
+
+    private String row(String name, String date) {
+        return "{\"name\":\"" + name + "\",\"amount\":4.50,\"category\":\"FOOD\",\"startDate\":\"" + date
+                + "\",\"transactionType\":\"EXPENSE\"}";
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
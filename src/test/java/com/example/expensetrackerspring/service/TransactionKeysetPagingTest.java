@@ -0,0 +1,59 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.rest.payload.response.TransactionPageResponse;
+import com.example.expensetrackerspring.utils.PageCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Page cost is read from pg_stat_statements, so it reflects the SQL Hibernate actually sends.
+class TransactionKeysetPagingTest extends EmbeddedPostgresApplicationTest {
+
+    private static final int DAYS = 10_000;
+    private static final int ROWS_PER_DAY = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+
+    @Test
+    void listTransactions_ShouldReadAboutAsManyBuffersForDeepPageAsForFirstCursorPage() {
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        User user = signUp("scroller");
+
+        jdbcTemplate.update("INSERT INTO transactions (id, name, category, category_id, amount, start_date, "
+                        + "recurrence_frequency, transaction_type, user_id) "
+                        + "SELECT nextval('transactions_seq'), 'Row ' || n, 'FOOD', "
+                        + "(SELECT id FROM transaction_categories WHERE name = 'FOOD'), 4.50, "
+                        + "?::date + (n / ?), 'SINGLE', 'EXPENSE', ? "
+                        + "FROM generate_series(0, ? - 1) n",
+                FIRST_DAY, ROWS_PER_DAY, user.getId(), DAYS * ROWS_PER_DAY);
+        jdbcTemplate.execute("ANALYZE transactions");
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+
+        long shallow = buffersForPageAfter(transactionService, jdbcTemplate, user.getId(),
+                FIRST_DAY.plusDays(DAYS - 2));
+        // Halfway down, neither skipping the newer half nor collecting and sorting the older half is cheap,
+        // so only a seek on start_date keeps the page as small as one near the top.
+        long deep = buffersForPageAfter(transactionService, jdbcTemplate, user.getId(), FIRST_DAY.plusDays(DAYS / 2));
+
+        assertTrue(deep <= shallow + 20, "deep page read " + deep + " buffers, near-top page " + shallow);
+    }
+
+    private long buffersForPageAfter(TransactionService transactionService, JdbcTemplate jdbcTemplate, Long userId,
+                                     LocalDate day) {
+        Long id = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM transactions WHERE user_id = ? AND start_date = ?", Long.class, userId, day);
+        jdbcTemplate.execute("SELECT pg_stat_statements_reset()");
+
+        TransactionPageResponse page = transactionService.listTransactions(userId, null, null,
+                new PageCursor(day, id).encode(), 50);
+
+        assertEquals(50, page.items().size());
+        return jdbcTemplate.queryForObject("SELECT SUM(shared_blks_hit + shared_blks_read) FROM pg_stat_statements "
+                + "WHERE query ILIKE '%from transactions%' AND query ILIKE '%order by%desc%'", Long.class);
+    }
+}
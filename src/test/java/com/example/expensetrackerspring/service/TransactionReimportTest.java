@@ -0,0 +1,54 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.TransactionExportService;
+import com.example.expensetrackerspring.core.service.TransactionImportService;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionReimportTest extends EmbeddedPostgresApplicationTest {
+
+    @Test
+    void deleteAllOccurrences_ShouldDeleteOnlyTheImportedCopy_WhenSameExportIsImportedTwice() {
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        TransactionImportService importService = context.getBean(TransactionImportService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        User user = signUp("reimporter");
+
+        transactionService.saveTransaction(new SaveTransactionRequest(null, "Groceries", null,
+                new BigDecimal("42.10"), "FOOD", LocalDate.of(2024, 1, 4), LocalDate.of(2024, 1, 18),
+                RecurrenceFrequency.WEEKLY, TransactionType.EXPENSE), user.getId());
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        context.getBean(TransactionExportService.class).exportNdjson(user.getId(), export);
+
+        importService.importNdjson(new ByteArrayInputStream(export.toByteArray()), user.getId());
+        importService.importNdjson(new ByteArrayInputStream(export.toByteArray()), user.getId());
+
+        List<String> seriesIds = jdbcTemplate.queryForList(
+                "SELECT series_id FROM transactions WHERE user_id = ? ORDER BY id", String.class, user.getId());
+        assertEquals(9, seriesIds.size());
+        assertEquals(3, seriesIds.stream().distinct().count());
+
+        Long firstImported = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM transactions WHERE user_id = ? AND series_id = ?",
+                Long.class, user.getId(), seriesIds.get(3));
+        transactionService.deleteAllOccurrences(firstImported, user.getId());
+
+        List<String> remaining = jdbcTemplate.queryForList(
+                "SELECT series_id FROM transactions WHERE user_id = ? ORDER BY id", String.class, user.getId());
+        assertEquals(List.of(seriesIds.get(0), seriesIds.get(0), seriesIds.get(0),
+                seriesIds.get(6), seriesIds.get(6), seriesIds.get(6)), remaining);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.expensetrackerspring.service;
 
 import com.example.expensetrackerspring.core.RecurrenceFrequency;
 import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.exceptions.InvalidTransactionDetailsException;
 import com.example.expensetrackerspring.core.exceptions.TransactionNotFoundException;
 import com.example.expensetrackerspring.core.exceptions.UserNotFoundException;
 import com.example.expensetrackerspring.core.persistance.entity.Transaction;
@@ -9,26 +10,37 @@ import com.example.expensetrackerspring.core.persistance.entity.User;
 import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
 import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryRepository;
 import com.example.expensetrackerspring.core.persistance.repository.UserRepository;
+import com.example.expensetrackerspring.core.service.DirtyMonthCollector;
+import com.example.expensetrackerspring.core.service.TransactionCategories;
 import com.example.expensetrackerspring.core.service.TransactionServiceImpl;
-import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache;
+import com.example.expensetrackerspring.core.service.UserLedgerLock;
+import com.example.expensetrackerspring.core.service.UserLedgerVersion;
+import com.example.expensetrackerspring.utils.PageCursor;
 import com.example.expensetrackerspring.rest.payload.request.GetTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.request.RemoveTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
 import com.example.expensetrackerspring.rest.payload.response.RemoveTransactionResponse;
 import com.example.expensetrackerspring.rest.payload.response.SaveTransactionResponse;
+import com.example.expensetrackerspring.rest.payload.response.TransactionPageResponse;
 import com.example.expensetrackerspring.rest.payload.response.TransactionResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.when;
@@ -43,7 +55,15 @@ class TransactionServiceImplTest {
     @Mock
     private UserMonthlySummaryRepository userMonthlySummaryRepository;
     @Mock
-    private UserMonthlySummaryService userMonthlySummaryService;
+    private DirtyMonthCollector dirtyMonthCollector;
+    @Mock
+    private UserLedgerLock userLedgerLock;
+    @Spy
+    private MonthlyReadCache monthlyReadCache = new MonthlyReadCache(100, Duration.ofMinutes(1));
+    @Mock
+    private UserLedgerVersion userLedgerVersion;
+    @Mock
+    private TransactionCategories transactionCategories;
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -88,6 +108,8 @@ class TransactionServiceImplTest {
         assertTrue(response.successful());
         assertEquals("Transaction saved successfully", response.message());
         verify(transactionRepository).save(any(Transaction.class));
+        verify(dirtyMonthCollector).markDirty(user, transactionRequest.startDate());
+        verify(userLedgerVersion).bump(1L);
     }
 
     @Test
@@ -152,5 +174,202 @@ class TransactionServiceImplTest {
         assertThrows(TransactionNotFoundException.class,
                 () -> transactionService.deleteTransaction(request, 1L));
     }
-}
 
+    @Test
+    void saveTransaction_shouldShareOneSeriesIdAcrossRecurringOccurrences() {
+        SaveTransactionRequest recurringRequest = new SaveTransactionRequest(
+                null, "Rent", "Monthly rent",
+                BigDecimal.valueOf(500), "BILLS",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1),
+                RecurrenceFrequency.MONTHLY, TransactionType.EXPENSE
+        );
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        transactionService.saveTransaction(recurringRequest, 1L);
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository, times(3)).save(captor.capture());
+        String seriesId = captor.getAllValues().get(0).getSeriesId();
+        assertNotNull(seriesId);
+        assertTrue(captor.getAllValues().stream().allMatch(t -> seriesId.equals(t.getSeriesId())));
+    }
+
+    @Test
+    void updateTransaction_shouldUpdateWholeSeriesWithOneStatement() {
+        transaction.setRecurrenceFrequency(RecurrenceFrequency.MONTHLY);
+        transaction.setSeriesId("series-1");
+        SaveTransactionRequest updateRequest = new SaveTransactionRequest(
+                1L, "Groceries", "Weekly shop",
+                BigDecimal.valueOf(75), "FOOD",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1),
+                RecurrenceFrequency.MONTHLY, TransactionType.EXPENSE
+        );
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(transaction));
+        when(transactionCategories.idOf("FOOD")).thenReturn(4);
+        when(transactionRepository.findStartDatesBySeries(1L, "series-1"))
+                .thenReturn(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+
+        Optional<TransactionResponse> response = transactionService.updateTransaction(updateRequest, 1L);
+
+        assertTrue(response.isPresent());
+        assertEquals(BigDecimal.valueOf(75), response.get().amount());
+        verify(transactionRepository).updateSeries(1L, "series-1", "Groceries", "Weekly shop",
+                BigDecimal.valueOf(75), "FOOD", 4, LocalDate.of(2024, 2, 1), TransactionType.EXPENSE);
+        verify(transactionRepository, never()).findByUserAndName(any(User.class), anyString());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(dirtyMonthCollector).markDirty(user, LocalDate.of(2024, 1, 1));
+        verify(dirtyMonthCollector).markDirty(user, LocalDate.of(2024, 2, 1));
+    }
+
+    @Test
+    void deleteAllOccurrences_shouldDeleteWholeSeriesWithOneStatement() {
+        transaction.setRecurrenceFrequency(RecurrenceFrequency.MONTHLY);
+        transaction.setSeriesId("series-1");
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findStartDatesBySeries(1L, "series-1"))
+                .thenReturn(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+
+        transactionService.deleteAllOccurrences(1L, 1L);
+
+        verify(transactionRepository).deleteBySeries(1L, "series-1");
+        verify(transactionRepository, never()).delete(any(Transaction.class));
+        verify(dirtyMonthCollector).markDirty(user, LocalDate.of(2024, 1, 1));
+        verify(dirtyMonthCollector).markDirty(user, LocalDate.of(2024, 2, 1));
+    }
+
+    @Test
+    void deleteAllOccurrences_shouldNotTouchSameNamedTransactions_WhenTransactionIsSingle() {
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(transaction));
+
+        transactionService.deleteAllOccurrences(1L, 1L);
+
+        verify(transactionRepository).delete(transaction);
+        verify(transactionRepository, never()).findByUserAndName(any(User.class), anyString());
+    }
+
+    @Test
+    void saveTransaction_shouldStoreSingleRow_WhenRecurrenceIsRuleBased() {
+        SaveTransactionRequest ruleRequest = new SaveTransactionRequest(
+                null, "Rent", "Daily rent",
+                BigDecimal.valueOf(20), "BILLS",
+                LocalDate.of(2024, 1, 1), null,
+                RecurrenceFrequency.DAILY, TransactionType.EXPENSE, true
+        );
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        transactionService.saveTransaction(ruleRequest, 1L);
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(captor.capture());
+        assertTrue(captor.getValue().isRuleBased());
+        assertNull(captor.getValue().getEndDate());
+        verify(dirtyMonthCollector).markDirty(user, LocalDate.of(2024, 1, 1), null);
+    }
+
+    @Test
+    void getTransactionsForMonth_shouldExpandRuleOccurrencesInDateOrder() {
+        Transaction rule = Transaction.builder()
+                .id(7L)
+                .user(user)
+                .name("Gym")
+                .amount(BigDecimal.valueOf(10))
+                .category("HEALTH")
+                .startDate(LocalDate.of(2023, 12, 5))
+                .recurrenceFrequency(RecurrenceFrequency.WEEKLY)
+                .transactionType(TransactionType.EXPENSE)
+                .ruleBased(true)
+                .build();
+        TransactionResponse groceries = new TransactionResponse(1L, "Groceries", "Bought groceries",
+                BigDecimal.valueOf(50), "Food", LocalDate.of(2024, 2, 10), LocalDate.of(2024, 2, 10),
+                TransactionType.EXPENSE);
+        when(transactionRepository.findResponsesByUserIdAndDateBetween(1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)))
+                .thenReturn(List.of(groceries));
+        when(transactionRepository.findRulesOverlappingByUserId(1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)))
+                .thenReturn(List.of(rule));
+
+        List<TransactionResponse> responses = transactionService.getTransactionsForMonth(1L, "2024-02");
+
+        assertEquals(5, responses.size());
+        assertEquals(LocalDate.of(2024, 2, 6), responses.get(0).startDate());
+        assertEquals(LocalDate.of(2024, 2, 10), responses.get(1).startDate());
+        assertEquals(1L, responses.get(1).id());
+        assertEquals(7L, responses.get(4).id());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getTransactionsForDay_shouldReturnProjectedRows_WhenNoRulesOverlap() {
+        LocalDate day = LocalDate.of(2024, 2, 10);
+        List<TransactionResponse> projected = List.of(new TransactionResponse(1L, "Groceries", "Bought groceries",
+                BigDecimal.valueOf(50), "Food", day, day, TransactionType.EXPENSE));
+        when(transactionRepository.findResponsesByUserIdAndDateBetween(1L, day, day)).thenReturn(projected);
+        when(transactionRepository.findRulesOverlappingByUserId(1L, day, day)).thenReturn(List.of());
+
+        List<TransactionResponse> responses = transactionService.getTransactionsForDay(1L, day);
+
+        assertEquals(projected, responses);
+        verifyNoInteractions(userRepository);
+        verify(transactionRepository, never()).findByUserAndDate(any(User.class), any(LocalDate.class));
+    }
+
+    @Test
+    void deleteTransaction_shouldRejectSingleOccurrenceOfRule() {
+        transaction.setRuleBased(true);
+        transaction.setRecurrenceFrequency(RecurrenceFrequency.MONTHLY);
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(transaction));
+
+        assertThrows(InvalidTransactionDetailsException.class,
+                () -> transactionService.deleteTransaction(new RemoveTransactionRequest(1L), 1L));
+        verify(transactionRepository, never()).delete(any(Transaction.class));
+    }
+
+    @Test
+    void listTransactions_shouldReturnCursorToLastRow_WhenMoreRowsExist() {
+        Transaction older = Transaction.builder()
+                .id(2L)
+                .user(user)
+                .name("Older")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .transactionType(TransactionType.EXPENSE)
+                .build();
+        Transaction oldest = Transaction.builder()
+                .id(3L)
+                .user(user)
+                .name("Oldest")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .transactionType(TransactionType.EXPENSE)
+                .build();
+        when(transactionRepository.findFirstPage(1L, TransactionType.EXPENSE, null, Limit.of(3)))
+                .thenReturn(List.of(transaction, older, oldest));
+
+        TransactionPageResponse page = transactionService.listTransactions(1L, TransactionType.EXPENSE, null, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals(new PageCursor(LocalDate.of(2024, 1, 1), 2L), PageCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void listTransactions_shouldSeekPastCursor_AndEndWithoutNextCursor() {
+        String cursor = new PageCursor(LocalDate.of(2024, 1, 1), 2L).encode();
+        when(transactionCategories.findId("Food")).thenReturn(Optional.of(4));
+        when(transactionRepository.findPageAfter(1L, null, 4, LocalDate.of(2024, 1, 1), 2L, Limit.of(3)))
+                .thenReturn(List.of(transaction));
+
+        TransactionPageResponse page = transactionService.listTransactions(1L, null, "Food", cursor, 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        verify(transactionRepository, never()).findFirstPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void listTransactions_shouldReturnEmptyPage_WhenCategoryWasNeverUsed() {
+        when(transactionCategories.findId("Travel")).thenReturn(Optional.empty());
+
+        TransactionPageResponse page = transactionService.listTransactions(1L, null, "Travel", null, 2);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        verifyNoInteractions(transactionRepository);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.TransactionType;
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.service.SummaryRecomputeQueue;
+import com.example.expensetrackerspring.core.service.TransactionService;
+import com.example.expensetrackerspring.core.service.UserMonthlySummaryService;
+import com.example.expensetrackerspring.rest.payload.request.SaveTransactionRequest;
+import com.example.expensetrackerspring.utils.RecurrenceRules;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLedgerConcurrencyTest extends EmbeddedPostgresApplicationTest {
+
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2024, 1);
+    private static final YearMonth LAST_MONTH = YearMonth.of(2024, 6);
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 12;
+
+    @Test
+    void concurrentWritesAndReadsOfSameUser_ShouldLeaveSummariesEqualToRecomputeFromScratch() throws Exception {
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        UserMonthlySummaryService summaryService = context.getBean(UserMonthlySummaryService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        User user = signUp("contended");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(thread);
+                    await(start);
+                    for (int round = 0; round < ROUNDS; round++) {
+                        writeRound(transactionService, jdbcTemplate, user.getId(), "T" + thread + "-" + round, random);
+                        // Reads recompute stale months themselves, racing the background workers and the writers.
+                        summaryService.getSummaryForMonth(user,
+                                FIRST_MONTH.plusMonths(random.nextInt(6)).toString());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        awaitSummaryQueue(context.getBean(SummaryRecomputeQueue.class));
+        // Reading brings any month the background workers have not reached yet up to date.
+        for (YearMonth month = FIRST_MONTH; !month.isAfter(LAST_MONTH); month = month.plusMonths(1)) {
+            summaryService.getSummaryForMonth(user, month.toString());
+        }
+
+        Map<LocalDate, BigDecimal> stored = new TreeMap<>();
+        jdbcTemplate.query("SELECT date, savings FROM user_monthly_summary WHERE user_id = ? AND date <= ?",
+                row -> {
+                    stored.put(row.getDate("date").toLocalDate(), row.getBigDecimal("savings"));
+                },
+                user.getId(), LAST_MONTH.atEndOfMonth());
+        assertFalse(stored.isEmpty());
+        assertEquals(recomputeSavings(jdbcTemplate, user.getId(), stored.keySet().iterator().next()), stored);
+    }
+
+    private void writeRound(TransactionService transactionService, JdbcTemplate jdbcTemplate, Long userId,
+                            String name, Random random) {
+        // Series of four to six weeks cross into the next month, so writes also shift later closing balances.
+        LocalDate startDate = FIRST_MONTH.plusMonths(random.nextInt(4)).atDay(1 + random.nextInt(28));
+        LocalDate endDate = startDate.plusWeeks(4 + random.nextInt(3));
+        boolean ruleBased = random.nextBoolean();
+        TransactionType type = random.nextInt(3) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+
+        transactionService.saveTransaction(new SaveTransactionRequest(null, name, null, amount(random), "FOOD",
+                startDate, endDate, RecurrenceFrequency.WEEKLY, type, ruleBased), userId);
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM transactions WHERE user_id = ? AND name = ?",
+                Long.class, userId, name);
+        transactionService.updateTransaction(new SaveTransactionRequest(id, name, null, amount(random), "FOOD",
+                startDate, endDate, RecurrenceFrequency.WEEKLY, type, ruleBased), userId);
+        if (random.nextInt(3) > 0) {
+            transactionService.deleteAllOccurrences(id, userId);
+        }
+
+        LocalDate day = FIRST_MONTH.plusMonths(random.nextInt(6)).atDay(1 + random.nextInt(28));
+        transactionService.saveTransaction(new SaveTransactionRequest(null, name + " single", null, amount(random),
+                "FOOD", day, null, RecurrenceFrequency.SINGLE, type), userId);
+    }
+
+    // Closing balances from the transactions alone, day by day, without any summary state.
+    private Map<LocalDate, BigDecimal> recomputeSavings(JdbcTemplate jdbcTemplate, Long userId, LocalDate from) {
+        Map<LocalDate, BigDecimal> net = new TreeMap<>();
+        jdbcTemplate.query("SELECT start_date, end_date, recurrence_frequency, transaction_type, amount, rule_based "
+                        + "FROM transactions WHERE user_id = ?",
+                row -> {
+                    LocalDate startDate = row.getDate("start_date").toLocalDate();
+                    BigDecimal amount = row.getBigDecimal("amount");
+                    if (TransactionType.valueOf(row.getString("transaction_type")) == TransactionType.EXPENSE) {
+                        amount = amount.negate();
+                    }
+                    List<LocalDate> dates = row.getBoolean("rule_based")
+                            ? RecurrenceRules.occurrencesBetween(startDate, row.getDate("end_date").toLocalDate(),
+                                    RecurrenceFrequency.valueOf(row.getString("recurrence_frequency")),
+                                    FIRST_MONTH.atDay(1), LAST_MONTH.atEndOfMonth())
+                            : List.of(startDate);
+                    for (LocalDate date : dates) {
+                        net.merge(date, amount, BigDecimal::add);
+                    }
+                },
+                userId);
+
+        Map<LocalDate, BigDecimal> savings = new TreeMap<>();
+        BigDecimal balance = BigDecimal.ZERO.setScale(2);
+        for (LocalDate date = FIRST_MONTH.atDay(1); !date.isAfter(LAST_MONTH.atEndOfMonth()); date = date.plusDays(1)) {
+            balance = balance.add(net.getOrDefault(date, BigDecimal.ZERO));
+            if (!date.isBefore(from)) {
+                savings.put(date, balance);
+            }
+        }
+        return savings;
+    }
+
+    private static BigDecimal amount(Random random) {
+        return BigDecimal.valueOf(100 + random.nextInt(20_000), 2);
+    }
+
+    private static void awaitSummaryQueue(SummaryRecomputeQueue queue) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (queue.depth() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.service.UserLedgerLock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLedgerLockTest {
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private DatabaseMetaData metaData;
+
+    private UserLedgerLock userLedgerLock;
+
+    @BeforeEach
+    void setUp() {
+        userLedgerLock = new UserLedgerLock(entityManager, dataSource, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(userLedgerLock);
+    }
+
+    @Test
+    void lock_ShouldTakePostgresAdvisoryLockOncePerTransaction() throws Exception {
+        givenDatabase("PostgreSQL");
+        Query query = mock(Query.class);
+        when(entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(:userId)")).thenReturn(query);
+        when(query.setParameter("userId", 7L)).thenReturn(query);
+
+        inTransaction(() -> {
+            userLedgerLock.lock(7L);
+            userLedgerLock.lock(7L);
+        });
+
+        verify(query, times(1)).getSingleResult();
+    }
+
+    @Test
+    void lock_ShouldRequireTransaction() {
+        assertThrows(IllegalStateException.class, () -> userLedgerLock.lock(1L));
+    }
+
+    @Test
+    void lock_ShouldNotBlockOtherUsers() throws Exception {
+        givenDatabase("H2");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch firstUserLocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<?> holder = executor.submit(() -> inTransaction(() -> {
+                userLedgerLock.lock(1L);
+                firstUserLocked.countDown();
+                await(release);
+            }));
+            assertTrue(firstUserLocked.await(5, TimeUnit.SECONDS));
+
+            Future<?> otherUser = executor.submit(() -> inTransaction(() -> userLedgerLock.lock(2L)));
+            otherUser.get(5, TimeUnit.SECONDS);
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lock_ShouldSerializeReadModifyWriteOfSameUser_UnderContention() throws Exception {
+        givenDatabase("H2");
+        int threads = 8;
+        int iterations = 500;
+        long[] balances = new long[3];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int userId = 1 + t % 3;
+                futures.add(executor.submit(() -> {
+                    await(start);
+                    for (int i = 0; i < iterations; i++) {
+                        inTransaction(() -> {
+                            userLedgerLock.lock((long) userId);
+                            // Deliberately non-atomic, like reading a closing balance and writing the next one.
+                            long current = balances[userId - 1];
+                            Thread.yield();
+                            balances[userId - 1] = current + 1;
+                        });
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(3L * iterations, balances[0]);
+        assertEquals(3L * iterations, balances[1]);
+        assertEquals(2L * iterations, balances[2]);
+    }
+
+    private void givenDatabase(String productName) throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+    }
+
+    private void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
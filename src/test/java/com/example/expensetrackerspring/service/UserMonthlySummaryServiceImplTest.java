@@ -1,21 +1,36 @@
 package com.example.expensetrackerspring.service;
 
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import com.example.expensetrackerspring.core.SummaryBucket;
 import com.example.expensetrackerspring.core.TransactionType;
 import com.example.expensetrackerspring.core.persistance.entity.Transaction;
+import com.example.expensetrackerspring.core.persistance.entity.TransactionCategory;
 import com.example.expensetrackerspring.core.persistance.entity.User;
 import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummaryState;
+import com.example.expensetrackerspring.core.persistance.repository.TransactionCategoryRepository;
 import com.example.expensetrackerspring.core.persistance.repository.TransactionRepository;
 import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryRepository;
+import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryStateRepository;
+import com.example.expensetrackerspring.core.service.MonthlyReadCache;
+import com.example.expensetrackerspring.core.service.UserLedgerLock;
 import com.example.expensetrackerspring.core.service.UserMonthlySummaryServiceImpl;
+import com.example.expensetrackerspring.rest.payload.response.CategoryTotalResponse;
+import com.example.expensetrackerspring.rest.payload.response.DailySummaryResponse;
+import com.example.expensetrackerspring.rest.payload.response.SummaryRollupResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +38,8 @@ import java.util.Optional;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,12 +49,21 @@ class UserMonthlySummaryServiceImplTest {
     private UserMonthlySummaryRepository userMonthlySummaryRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private UserMonthlySummaryStateRepository userMonthlySummaryStateRepository;
+    @Mock
+    private UserLedgerLock userLedgerLock;
+    @Mock
+    private TransactionCategoryRepository transactionCategoryRepository;
+    @Spy
+    private MonthlyReadCache monthlyReadCache = new MonthlyReadCache(100, Duration.ofMinutes(1));
 
     @InjectMocks
     private UserMonthlySummaryServiceImpl userMonthlySummaryService;
 
     private User user;
     private UserMonthlySummary summary;
+    private DailySummaryResponse dailySummary;
     private Transaction transaction;
     private LocalDate testDate;
     private YearMonth testMonth;
@@ -58,6 +84,8 @@ class UserMonthlySummaryServiceImplTest {
         summary.setExpenses(BigDecimal.ZERO);
         summary.setSavings(BigDecimal.ZERO);
 
+        dailySummary = new DailySummaryResponse(testDate, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
         transaction = Transaction.builder()
                 .id(1L)
                 .user(user)
@@ -71,71 +99,310 @@ class UserMonthlySummaryServiceImplTest {
     void shouldUpdateDailySummary() {
         YearMonth testMonth = YearMonth.from(testDate); // February 2024
         LocalDate lastDayOfPreviousMonth = testMonth.minusMonths(1).atEndOfMonth(); // 2024-01-31
-        LocalDate previousDay = lastDayOfPreviousMonth.minusDays(1);   // 2024-01-30
 
-        // Stub for previous day (used in getPreviousDaySavings)
+        // Closing balance of the previous month opens this one.
         UserMonthlySummary previousSummary = new UserMonthlySummary();
         previousSummary.setUser(user);
-        previousSummary.setDate(previousDay);
-        previousSummary.setSavings(BigDecimal.ZERO);
-
-        // Lenient stubbing for daily lookup: if the day equals testDate, return our summary; otherwise, return empty.
-        lenient().when(userMonthlySummaryRepository.findByUserAndDate(eq(user), any(LocalDate.class)))
-                .thenAnswer(invocation -> {
-                    LocalDate date = invocation.getArgument(1);
-                    if (date.equals(testDate)) {
-                        return Optional.of(summary);
-                    } else if (date.equals(previousDay)) {
-                        return Optional.of(previousSummary);
-                    }
-                    return Optional.empty();
-                });
-
-
-        // Stub the transaction repository for testDate.
-        when(transactionRepository.findByUserAndDate(user, testDate))
+        previousSummary.setDate(lastDayOfPreviousMonth);
+        previousSummary.setSavings(BigDecimal.valueOf(20));
+
+        when(userMonthlySummaryRepository.findFirstByUserAndDateLessThanEqualOrderByDateDesc(user, lastDayOfPreviousMonth))
+                .thenReturn(Optional.of(previousSummary));
+
+        // The whole month of transactions is loaded with a single range query.
+        Transaction expense = Transaction.builder()
+                .id(2L)
+                .user(user)
+                .amount(BigDecimal.valueOf(30))
+                .transactionType(TransactionType.EXPENSE)
+                .startDate(testDate)
+                .build();
+        when(transactionRepository.findByUserAndDateBetween(user, testMonth.atDay(1), testMonth.atEndOfMonth()))
+                .thenReturn(List.of(transaction, expense));
+
+        userMonthlySummaryService.updateDailySummary(testDate, user);
+
+        // The whole month goes out as one upsert; existing rows are never loaded.
+        ArgumentCaptor<List<UserMonthlySummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userMonthlySummaryRepository).upsertDays(captor.capture());
+        List<UserMonthlySummary> saved = captor.getValue();
+        UserMonthlySummary testDay = saved.get(testDate.getDayOfMonth() - 1);
+
+        assertEquals(testMonth.lengthOfMonth(), saved.size());
+        assertEquals(testDate, testDay.getDate());
+        assertEquals(new BigDecimal("100.00"), testDay.getIncome());
+        assertEquals(new BigDecimal("30.00"), testDay.getExpenses());
+        assertEquals(new BigDecimal("90.00"), testDay.getSavings());
+        assertEquals(new BigDecimal("90.00"), saved.get(saved.size() - 1).getSavings());
+        verify(transactionRepository, never()).findByUserAndDate(any(User.class), any(LocalDate.class));
+        verify(userMonthlySummaryRepository, never())
+                .findByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class));
+        verify(userMonthlySummaryRepository, never()).save(any(UserMonthlySummary.class));
+        verify(userMonthlySummaryRepository, never()).saveAll(anyList());
+
+        ArgumentCaptor<UserMonthlySummaryState> stateCaptor = ArgumentCaptor.forClass(UserMonthlySummaryState.class);
+        verify(userMonthlySummaryStateRepository).save(stateCaptor.capture());
+        assertFalse(stateCaptor.getValue().isStale());
+
+        // The month closes 70 higher than the balance later months were built on.
+        verify(userMonthlySummaryRepository).shiftSavingsAfter(
+                eq(user), eq(testMonth.atEndOfMonth()), eq(new BigDecimal("70.00")), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldNotShiftLaterMonths_WhenClosingSavingsAreUnchanged() {
+        LocalDate lastDay = testMonth.atEndOfMonth();
+
+        when(transactionRepository.findByUserAndDateBetween(user, testMonth.atDay(1), lastDay))
                 .thenReturn(List.of(transaction));
+        when(userMonthlySummaryRepository.findSavingsByUserAndDate(user, lastDay))
+                .thenReturn(Optional.of(BigDecimal.valueOf(100)));
+
+        userMonthlySummaryService.updateDailySummary(testDate, user);
+
+        verify(userMonthlySummaryRepository, never())
+                .shiftSavingsAfter(any(User.class), any(LocalDate.class), any(BigDecimal.class), any(LocalDateTime.class));
+    }
+
 
-        // Stub for monthly lookup to include our summary.
-        when(userMonthlySummaryRepository.findByUserAndDateBetween(
-                eq(user), eq(testMonth.atDay(1)), eq(testMonth.atEndOfMonth())))
-                .thenReturn(List.of(summary));
 
-        // Execute the updateDailySummary method.
+    @Test
+    void shouldExpandRuleOccurrencesIntoMonth() {
+        Transaction rule = Transaction.builder()
+                .id(3L)
+                .user(user)
+                .amount(BigDecimal.valueOf(5))
+                .transactionType(TransactionType.EXPENSE)
+                .recurrenceFrequency(RecurrenceFrequency.DAILY)
+                .startDate(LocalDate.of(2023, 1, 1))
+                .ruleBased(true)
+                .build();
+        when(transactionRepository.findRulesOverlapping(user, testMonth.atDay(1), testMonth.atEndOfMonth()))
+                .thenReturn(List.of(rule));
+
         userMonthlySummaryService.updateDailySummary(testDate, user);
 
-        // Verify that the summary for testDate got updated.
-        assertEquals(BigDecimal.valueOf(100), summary.getIncome());
-        assertEquals(BigDecimal.ZERO, summary.getExpenses());
-        verify(userMonthlySummaryRepository, atLeastOnce()).save(any(UserMonthlySummary.class));
+        ArgumentCaptor<List<UserMonthlySummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userMonthlySummaryRepository).upsertDays(captor.capture());
+        List<UserMonthlySummary> saved = captor.getValue();
+        assertEquals(new BigDecimal("5.00"), saved.get(0).getExpenses());
+        assertEquals(new BigDecimal("-145.00"), saved.get(saved.size() - 1).getSavings());
     }
 
+    @Test
+    void shouldMaterializeSkippedMonths_BeforeFirstComputationOfMonth() {
+        when(userMonthlySummaryStateRepository.findLastComputedMonthStartBefore(user, testMonth.atDay(1)))
+                .thenReturn(Optional.of(LocalDate.of(2023, 11, 1)));
+
+        userMonthlySummaryService.updateDailySummary(testDate, user);
 
+        verify(transactionRepository).findRulesOverlapping(user, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31));
+        verify(transactionRepository).findRulesOverlapping(user, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        verify(transactionRepository).findRulesOverlapping(user, testMonth.atDay(1), testMonth.atEndOfMonth());
+        verify(userMonthlySummaryStateRepository, times(3)).save(any(UserMonthlySummaryState.class));
+    }
+
+    @Test
+    void shouldReuseExistingStateOfSkippedMonth_WhenMaterializing() {
+        LocalDate december = LocalDate.of(2023, 12, 1);
+        UserMonthlySummaryState decemberState = new UserMonthlySummaryState(user, december);
+        decemberState.setDataVersion(2);
+        when(userMonthlySummaryStateRepository.findLastComputedMonthStartBefore(user, testMonth.atDay(1)))
+                .thenReturn(Optional.of(LocalDate.of(2023, 11, 1)));
+        when(userMonthlySummaryStateRepository.findByUserAndMonthStart(eq(user), any(LocalDate.class)))
+                .thenAnswer(invocation -> december.equals(invocation.getArgument(1))
+                        ? Optional.of(decemberState)
+                        : Optional.empty());
+
+        userMonthlySummaryService.updateDailySummary(testDate, user);
+
+        verify(userMonthlySummaryStateRepository).save(decemberState);
+        assertEquals(2, decemberState.getComputedVersion());
+    }
 
     @Test
     void shouldGetSummaryForMonth() {
-        when(userMonthlySummaryRepository.findByUserAndDateBetween(user, testMonth.atDay(1), testMonth.atEndOfMonth()))
-                .thenReturn(List.of(summary));
+        when(userMonthlySummaryRepository.findResponsesByUserIdAndDateBetween(1L, testMonth.atDay(1), testMonth.atEndOfMonth()))
+                .thenReturn(List.of(dailySummary));
 
-        List<UserMonthlySummary> summaries = userMonthlySummaryService.getSummaryForMonth(user, testMonth.toString());
+        List<DailySummaryResponse> summaries = userMonthlySummaryService.getSummaryForMonth(user, testMonth.toString());
 
         assertFalse(summaries.isEmpty());
         assertEquals(1, summaries.size());
-        verify(userMonthlySummaryRepository, times(2))
-                .findByUserAndDateBetween(user, testMonth.atDay(1), testMonth.atEndOfMonth());
+        verify(userMonthlySummaryRepository).upsertDays(anyList());
+        verify(userMonthlySummaryRepository, never())
+                .findByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void shouldServeFreshMonthWithoutRecomputing() {
+        UserMonthlySummaryState state = new UserMonthlySummaryState(user, testMonth.atDay(1));
+        state.setDataVersion(3);
+        state.setComputedVersion(3);
+        when(userMonthlySummaryStateRepository.findByUserAndMonthStart(user, testMonth.atDay(1)))
+                .thenReturn(Optional.of(state));
+        when(userMonthlySummaryRepository.findResponsesByUserIdAndDateBetween(1L, testMonth.atDay(1), testMonth.atEndOfMonth()))
+                .thenReturn(List.of(dailySummary));
+
+        List<DailySummaryResponse> summaries = userMonthlySummaryService.getSummaryForMonth(user, testMonth.toString());
+
+        assertEquals(1, summaries.size());
+        verify(userMonthlySummaryRepository, times(1))
+                .findResponsesByUserIdAndDateBetween(1L, testMonth.atDay(1), testMonth.atEndOfMonth());
+        verifyNoInteractions(transactionRepository);
+        verify(userMonthlySummaryRepository, never()).upsertDays(anyList());
+    }
+
+    @Test
+    void shouldCatchUpEarlierStaleMonths_BeforeServingMonth() {
+        LocalDate december = LocalDate.of(2023, 12, 1);
+        UserMonthlySummaryState state = new UserMonthlySummaryState(user, testMonth.atDay(1));
+        state.setDataVersion(3);
+        state.setComputedVersion(3);
+        when(userMonthlySummaryStateRepository.findStaleMonthStartsUpTo(user, testMonth.atDay(1)))
+                .thenReturn(List.of(december));
+        when(userMonthlySummaryStateRepository.findByUserAndMonthStart(eq(user), any(LocalDate.class)))
+                .thenAnswer(invocation -> testMonth.atDay(1).equals(invocation.getArgument(1))
+                        ? Optional.of(state)
+                        : Optional.empty());
+
+        userMonthlySummaryService.getSummaryForMonth(user, testMonth.toString());
+
+        verify(transactionRepository).findByUserAndDateBetween(user, december, LocalDate.of(2023, 12, 31));
+        verify(transactionRepository, never()).findByUserAndDateBetween(user, testMonth.atDay(1), testMonth.atEndOfMonth());
+    }
+
+    @Test
+    void recomputeIfStale_ShouldSkipMonthAlreadyCaughtUp() {
+        UserMonthlySummaryState state = new UserMonthlySummaryState(user, testMonth.atDay(1));
+        state.setDataVersion(2);
+        state.setComputedVersion(2);
+        when(userMonthlySummaryStateRepository.findByUserAndMonthStart(user, testMonth.atDay(1)))
+                .thenReturn(Optional.of(state));
+
+        assertFalse(userMonthlySummaryService.recomputeIfStale(user, testMonth));
+
+        verify(userLedgerLock).lock(user.getId());
+        verify(userMonthlySummaryRepository, never()).upsertDays(anyList());
+    }
+
+    @Test
+    void recomputeIfStale_ShouldRecomputeStaleMonth() {
+        UserMonthlySummaryState state = new UserMonthlySummaryState(user, testMonth.atDay(1));
+        state.setDataVersion(3);
+        state.setComputedVersion(2);
+        when(userMonthlySummaryStateRepository.findByUserAndMonthStart(user, testMonth.atDay(1)))
+                .thenReturn(Optional.of(state));
+
+        assertTrue(userMonthlySummaryService.recomputeIfStale(user, testMonth));
+
+        verify(userMonthlySummaryRepository).upsertDays(anyList());
+        assertFalse(state.isStale());
+    }
+
+    @Test
+    void shouldCreateStateWhenMarkingUnknownMonthStale() {
+        when(userMonthlySummaryStateRepository.incrementDataVersion(eq(user), eq(testMonth.atDay(1)), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        userMonthlySummaryService.markStale(user, testMonth);
+
+        ArgumentCaptor<UserMonthlySummaryState> stateCaptor = ArgumentCaptor.forClass(UserMonthlySummaryState.class);
+        verify(userMonthlySummaryStateRepository).save(stateCaptor.capture());
+        assertEquals(1, stateCaptor.getValue().getDataVersion());
+        assertEquals(testMonth.atDay(1), stateCaptor.getValue().getMonthStart());
     }
 
     @Test
     void shouldGetSummaryForDay() {
-        when(userMonthlySummaryRepository.findByUserAndDate(user, testDate))
-                .thenReturn(Optional.of(summary));
+        when(userMonthlySummaryRepository.findResponseByUserIdAndDate(1L, testDate))
+                .thenReturn(Optional.of(dailySummary));
 
-        UserMonthlySummary result = userMonthlySummaryService.getSummaryForDay(testDate, user);
+        DailySummaryResponse result = userMonthlySummaryService.getSummaryForDay(testDate, user);
 
         assertNotNull(result);
-        assertEquals(testDate, result.getDate());
+        assertEquals(testDate, result.date());
         verify(userMonthlySummaryRepository, times(1))
-                .findByUserAndDate(user, testDate);
+                .findResponseByUserIdAndDate(1L, testDate);
+        verify(userMonthlySummaryRepository, never()).findByUserAndDate(any(User.class), any(LocalDate.class));
+    }
+
+    @Test
+    void shouldRefreshUpToRangeEnd_BeforeRollingUp() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        SummaryRollupResponse bucket = new SummaryRollupResponse(from, LocalDate.of(2024, 12, 31),
+                BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9));
+        when(userMonthlySummaryRepository.rollup(1L, from, testDate, SummaryBucket.YEAR)).thenReturn(List.of(bucket));
+
+        List<SummaryRollupResponse> rollup = userMonthlySummaryService.getRollup(user, from, testDate, SummaryBucket.YEAR);
+
+        assertEquals(List.of(bucket), rollup);
+        verify(userMonthlySummaryStateRepository).findStaleMonthStartsUpTo(user, testMonth.atDay(1));
+        verify(userMonthlySummaryRepository).upsertDays(anyList());
     }
-}
 
+    @Test
+    void shouldRejectFarFutureMonth_WithoutMaterializingMonthsBeforeIt() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userMonthlySummaryService.getSummaryForMonth(user, "9999-12"));
+        assertThrows(IllegalArgumentException.class,
+                () -> userMonthlySummaryService.getSummaryForDay(LocalDate.of(9999, 12, 31), user));
+
+        verifyNoInteractions(userMonthlySummaryRepository, transactionRepository, userLedgerLock);
+    }
+
+    @Test
+    void shouldRejectRollup_WhenRangeEndsFarInTheFuture() {
+        assertThrows(IllegalArgumentException.class, () -> userMonthlySummaryService.getRollup(
+                user, LocalDate.of(2090, 1, 1), LocalDate.of(2099, 12, 31), SummaryBucket.YEAR));
+
+        verifyNoInteractions(userMonthlySummaryRepository, transactionRepository);
+    }
+
+    @Test
+    void shouldIgnoreFarFutureMonth_WhenMarkingStaleOrRecomputing() {
+        YearMonth farMonth = YearMonth.of(9999, 12);
+
+        userMonthlySummaryService.markStale(user, farMonth);
+
+        assertFalse(userMonthlySummaryService.recomputeIfStale(user, farMonth));
+        verifyNoInteractions(userMonthlySummaryStateRepository, userMonthlySummaryRepository, userLedgerLock);
+    }
+
+    @Test
+    void shouldRejectRollup_WhenRangeIsInverted() {
+        assertThrows(IllegalArgumentException.class, () -> userMonthlySummaryService.getRollup(
+                user, testDate, testDate.minusDays(1), SummaryBucket.WEEK));
+        verifyNoInteractions(userMonthlySummaryRepository);
+    }
+
+    @Test
+    void shouldMergeExpandedRulesIntoCategoryTotals() {
+        Transaction rent = Transaction.builder()
+                .id(2L)
+                .user(user)
+                .amount(BigDecimal.valueOf(10))
+                .categoryId(2)
+                .transactionType(TransactionType.EXPENSE)
+                .recurrenceFrequency(RecurrenceFrequency.WEEKLY)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .ruleBased(true)
+                .build();
+        when(transactionRepository.findCategoryTotalsByUserIdAndDateBetween(1L, testMonth.atDay(1), testMonth.atEndOfMonth()))
+                .thenReturn(List.of(
+                        new CategoryTotalResponse("BILLS", TransactionType.EXPENSE, BigDecimal.valueOf(5), 1),
+                        new CategoryTotalResponse("FOOD", TransactionType.EXPENSE, BigDecimal.valueOf(30), 2),
+                        new CategoryTotalResponse("WAGES", TransactionType.INCOME, BigDecimal.valueOf(100), 1)));
+        when(transactionRepository.findRulesOverlappingByUserId(1L, testMonth.atDay(1), testMonth.atEndOfMonth()))
+                .thenReturn(List.of(rent));
+        when(transactionCategoryRepository.findAllById(List.of(2)))
+                .thenReturn(List.of(new TransactionCategory(2, "BILLS")));
+
+        List<CategoryTotalResponse> totals = userMonthlySummaryService.getCategoryTotals(user, testMonth.toString());
+
+        assertEquals(List.of(
+                new CategoryTotalResponse("WAGES", TransactionType.INCOME, BigDecimal.valueOf(100), 1),
+                new CategoryTotalResponse("BILLS", TransactionType.EXPENSE, BigDecimal.valueOf(45), 5),
+                new CategoryTotalResponse("FOOD", TransactionType.EXPENSE, BigDecimal.valueOf(30), 2)), totals);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.expensetrackerspring.service;
+
+import com.example.expensetrackerspring.core.persistance.entity.User;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummary;
+import com.example.expensetrackerspring.core.persistance.entity.UserMonthlySummaryState;
+import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryRepository;
+import com.example.expensetrackerspring.core.persistance.repository.UserMonthlySummaryStateRepository;
+import com.example.expensetrackerspring.core.service.JdbcStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMonthlySummaryUpsertTest extends EmbeddedPostgresApplicationTest {
+
+    @Test
+    void upsertDays_ShouldDropLoadedSummariesOnly_AndKeepStateManaged() {
+        UserMonthlySummaryRepository summaryRepository = context.getBean(UserMonthlySummaryRepository.class);
+        UserMonthlySummaryStateRepository stateRepository = context.getBean(UserMonthlySummaryStateRepository.class);
+        JdbcStatementCounter jdbcStatementCounter = context.getBean(JdbcStatementCounter.class);
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        Long userId = signUp("upserter").getId();
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> {
+                    EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(
+                            context.getBean(EntityManagerFactory.class));
+                    User user = entityManager.find(User.class, userId);
+                    summaryRepository.upsertDays(List.of(summary(user, day, "10.00")));
+                    UserMonthlySummaryState state = stateRepository.save(new UserMonthlySummaryState(user, day));
+                    UserMonthlySummary loaded = summaryRepository.findByUserAndDate(user, day).orElseThrow();
+
+                    summaryRepository.upsertDays(List.of(summary(user, day, "25.00")));
+
+                    assertFalse(entityManager.contains(loaded));
+                    assertTrue(entityManager.contains(state));
+                    assertTrue(entityManager.contains(user));
+                    assertEquals(new BigDecimal("25.00"),
+                            summaryRepository.findByUserAndDate(user, day).orElseThrow().getSavings());
+
+                    // Still managed, so saving the state is a plain update rather than a merge that reloads it.
+                    state.setComputedVersion(1);
+                    long before = jdbcStatementCounter.current();
+                    stateRepository.save(state);
+                    entityManager.flush();
+                    assertEquals(1, jdbcStatementCounter.current() - before);
+                });
+    }
+
+    private static UserMonthlySummary summary(User user, LocalDate day, String savings) {
+        UserMonthlySummary summary = new UserMonthlySummary(user, day);
+        summary.setSavings(new BigDecimal(savings));
+        return summary;
+    }
+}
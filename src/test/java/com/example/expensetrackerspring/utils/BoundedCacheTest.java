@@ -0,0 +1,95 @@
+package com.example.expensetrackerspring.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock::get);
+        cache.put("a", "1");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.putCount());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntry_WhenFull() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(1), clock::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void get_ShouldDropExpiredEntries() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(5), clock::get);
+        cache.put("a", "1");
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void evictIf_ShouldRemoveMatchingEntries() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.evictIf((key, value) -> value == 2);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void evictGroupIf_ShouldVisitOnlyLiveKeysOfThatGroup() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, Duration.ofMinutes(1), clock::get,
+                key -> key.charAt(0));
+        cache.put("a1", 1);
+        cache.put("a2", 2);
+        cache.put("b1", 3);
+        cache.put("a3", 4);
+        List<String> visited = new ArrayList<>();
+
+        cache.evictGroupIf('a', key -> visited.add(key) && key.equals("a2"));
+
+        assertEquals(Set.of("a2", "a3"), Set.copyOf(visited));
+        assertNull(cache.get("a2"));
+        assertEquals(3, cache.get("b1"));
+        assertEquals(4, cache.get("a3"));
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    void sumOf_ShouldWeighEveryLiveEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock::get);
+        cache.put("a", "one");
+        cache.put("b", "three");
+
+        assertEquals(8, cache.sumOf(String::length));
+    }
+}
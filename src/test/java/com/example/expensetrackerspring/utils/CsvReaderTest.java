@@ -0,0 +1,38 @@
+package com.example.expensetrackerspring.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void readRecord_ShouldSplitPlainAndQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,\"b, c\",\"say \"\"hi\"\"\"\r\nd,,f\n"));
+
+        assertEquals(List.of("a", "b, c", "say \"hi\""), csv.readRecord());
+        assertEquals(List.of("d", "", "f"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void readRecord_ShouldKeepLineBreaksInsideQuotes_AndTrackLineNumbers() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"two\nlines\",x\nlast"));
+
+        assertEquals(List.of("two\nlines", "x"), csv.readRecord());
+        assertEquals(3, csv.getLineNumber());
+        assertEquals(List.of("last"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void readRecord_ShouldFailOnUnterminatedQuote() {
+        CsvReader csv = new CsvReader(new StringReader("\"open,field\n"));
+
+        assertThrows(IOException.class, csv::readRecord);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.expensetrackerspring.utils;
+
+import com.example.expensetrackerspring.core.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyTotalsTest {
+
+    private final MonthlyTotals totals = new MonthlyTotals(YearMonth.of(2024, 2));
+
+    @Test
+    void add_ShouldAccumulatePerDayAndType() {
+        totals.add(LocalDate.of(2024, 2, 29), TransactionType.INCOME, new BigDecimal("100.10"));
+        totals.add(LocalDate.of(2024, 2, 29), TransactionType.EXPENSE, new BigDecimal("30"));
+        totals.add(LocalDate.of(2024, 2, 29), TransactionType.EXPENSE, new BigDecimal("0.05"));
+
+        assertEquals(10010, totals.incomeCents(29));
+        assertEquals(3005, totals.expenseCents(29));
+        assertEquals(7005, totals.netCents(29));
+        assertEquals(0, totals.netCents(1));
+    }
+
+    @Test
+    void add_ShouldRejectDayOutsideMonth() {
+        assertThrows(IllegalArgumentException.class,
+                () -> totals.add(LocalDate.of(2024, 3, 1), TransactionType.INCOME, BigDecimal.ONE));
+    }
+
+    @Test
+    void add_ShouldDetectOverflow() {
+        totals.add(LocalDate.of(2024, 2, 1), TransactionType.INCOME, Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> totals.add(LocalDate.of(2024, 2, 1), TransactionType.INCOME, 1L));
+    }
+
+    @Test
+    void toCents_ShouldRoundSubCentAmountsAndRejectTooLargeOnes() {
+        assertEquals(101, MonthlyTotals.toCents(new BigDecimal("1.005")));
+        assertEquals(-250, MonthlyTotals.toCents(new BigDecimal("-2.5")));
+        assertThrows(ArithmeticException.class, () -> MonthlyTotals.toCents(new BigDecimal("1E+30")));
+    }
+
+    @Test
+    void toAmount_ShouldKeepTwoDecimals() {
+        assertEquals(new BigDecimal("12.30"), MonthlyTotals.toAmount(1230));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.expensetrackerspring.utils;
+
+import com.example.expensetrackerspring.core.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRulesTest {
+
+    @Test
+    void occurrencesBetween_ShouldKeepMonthEndAnchor_ForMonthlyRules() {
+        List<LocalDate> occurrences = RecurrenceRules.occurrencesBetween(
+                LocalDate.of(2024, 1, 31), null, RecurrenceFrequency.MONTHLY,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(List.of(LocalDate.of(2024, 3, 31)), occurrences);
+    }
+
+    @Test
+    void occurrencesBetween_ShouldOnlyExpandRequestedWindow_ForOpenEndedRules() {
+        List<LocalDate> occurrences = RecurrenceRules.occurrencesBetween(
+                LocalDate.of(2020, 1, 1), null, RecurrenceFrequency.DAILY,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        assertEquals(29, occurrences.size());
+        assertEquals(LocalDate.of(2024, 2, 1), occurrences.get(0));
+        assertEquals(LocalDate.of(2024, 2, 29), occurrences.get(28));
+    }
+
+    @Test
+    void occurrencesBetween_ShouldStopAtRuleEnd() {
+        List<LocalDate> occurrences = RecurrenceRules.occurrencesBetween(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 20), RecurrenceFrequency.WEEKLY,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15)),
+                occurrences);
+    }
+
+    @Test
+    void occurrencesBetween_ShouldReturnNothing_BeforeRuleStarts() {
+        List<LocalDate> occurrences = RecurrenceRules.occurrencesBetween(
+                LocalDate.of(2024, 6, 1), null, RecurrenceFrequency.YEARLY,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 5, 31));
+
+        assertTrue(occurrences.isEmpty());
+    }
+}